@@ -0,0 +1,142 @@
+package com.skillsync.cooking_edition.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import jakarta.annotation.PostConstruct;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skillsync.cooking_edition.model.Comment;
+import com.skillsync.cooking_edition.model.CommunityChatMessage;
+import com.skillsync.cooking_edition.model.Like;
+import com.skillsync.cooking_edition.model.Notification;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.TimelineEntry;
+import com.skillsync.cooking_edition.model.User;
+
+/**
+ * Creates the indexes the query paths rely on. Spring Boot no longer creates
+ * indexes from mapping annotations by default, so they are declared here.
+ */
+@Configuration
+public class MongoIndexConfig {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${notifications.retention.read-ttl-days:30}")
+    private long readNotificationTtlDays;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        try {
+            // Keyset pagination of the feed
+            mongoTemplate.indexOps(Post.class).ensureIndex(new Index()
+                    .on("createdAt", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("createdAt_desc_id_desc"));
+            // A user's own post listing
+            mongoTemplate.indexOps(Post.class).ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC)
+                    .named("userId_createdAt_desc"));
+            // Incremental exports by modification time
+            mongoTemplate.indexOps(Post.class).ensureIndex(new Index()
+                    .on("updatedAt", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named("updatedAt_id"));
+            // Home timeline pages and follower lookups for fan-out
+            mongoTemplate.indexOps(TimelineEntry.class).ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC)
+                    .on("postId", Sort.Direction.DESC)
+                    .named("userId_createdAt_desc_postId_desc"));
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index()
+                    .on("following", Sort.Direction.ASC)
+                    .named("following"));
+            // Comment pages of a post, oldest first
+            mongoTemplate.indexOps(Comment.class).ensureIndex(new Index()
+                    .on("postId", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named("postId_createdAt_id"));
+            // Cascade cleanup after a post is deleted
+            mongoTemplate.indexOps(Notification.class).ensureIndex(new Index()
+                    .on("relatedPostId", Sort.Direction.ASC)
+                    .named("relatedPostId"));
+            mongoTemplate.indexOps(TimelineEntry.class).ensureIndex(new Index()
+                    .on("postId", Sort.Direction.ASC)
+                    .named("postId"));
+            // Unread notification counts and listings
+            mongoTemplate.indexOps(Notification.class).ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("isRead", Sort.Direction.ASC)
+                    .named("userId_isRead"));
+            // Finding the open coalesced notification for an owner, post and type
+            mongoTemplate.indexOps(Notification.class).ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("relatedPostId", Sort.Direction.ASC)
+                    .on("type", Sort.Direction.ASC)
+                    .on("isRead", Sort.Direction.ASC)
+                    .named("userId_relatedPostId_type_isRead"));
+            // Paginated notification history and the per-user retention trim
+            mongoTemplate.indexOps(Notification.class).ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("userId_createdAt_desc_id_desc"));
+            // Chat scrollback, catch-up and recent windows, per room
+            mongoTemplate.indexOps(CommunityChatMessage.class).ensureIndex(new Index()
+                    .on("roomId", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named("roomId_createdAt_id"));
+            logger.info("MongoDB indexes verified");
+        } catch (Exception e) {
+            logger.error("Could not ensure MongoDB indexes: {}", e.getMessage(), e);
+        }
+        try {
+            // One like per user and post; the like toggle relies on this to stay idempotent
+            mongoTemplate.indexOps(Like.class).ensureIndex(new Index()
+                    .on("postId", Sort.Direction.ASC)
+                    .on("userId", Sort.Direction.ASC)
+                    .unique()
+                    .named("postId_userId_unique"));
+        } catch (Exception e) {
+            // Most likely duplicate likes left over from before the index existed
+            logger.error("Could not ensure unique likes index: {}", e.getMessage(), e);
+        }
+        try {
+            // At most one open (still coalescing) notification per owner, post and type;
+            // coalesce closes stale ones and retries when an upsert hits this
+            mongoTemplate.indexOps(Notification.class).ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("relatedPostId", Sort.Direction.ASC)
+                    .on("type", Sort.Direction.ASC)
+                    .unique()
+                    .partial(PartialIndexFilter.of(Criteria.where("open").is(true)))
+                    .named("userId_relatedPostId_type_open_unique"));
+        } catch (Exception e) {
+            logger.error("Could not ensure open notification index: {}", e.getMessage(), e);
+        }
+        try {
+            // Read notifications expire on their own; unread ones have no readAt and stay
+            mongoTemplate.indexOps(Notification.class).ensureIndex(new Index()
+                    .on("readAt", Sort.Direction.ASC)
+                    .expire(Duration.ofDays(readNotificationTtlDays))
+                    .named("readAt_ttl"));
+        } catch (Exception e) {
+            // An existing index with another expiry has to be dropped or changed with collMod
+            logger.error("Could not ensure read notification TTL index: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -19,6 +19,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Streams the whole collection, so it is not open to anonymous callers
+                .requestMatchers("/api/posts/export").authenticated()
                 .requestMatchers("/", "/login", "/error", "/css/**", "/js/**", "/images/**", 
                                "/index.html", "/oauth2/**", "/login/oauth2/**", "/api/auth/**",
                                "/api/posts/**").permitAll()
@@ -44,7 +46,9 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With",
+                "If-None-Match", "If-Modified-Since"));
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Last-Modified"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
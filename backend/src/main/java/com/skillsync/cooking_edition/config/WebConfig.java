@@ -1,12 +1,23 @@
 package com.skillsync.cooking_edition.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.lang.NonNull;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+
+    // Long enough for streamed exports; server-sent event emitters set their own timeout
+    @Value("${web.async.timeout-ms:1800000}")
+    private long asyncTimeoutMs;
+
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
     
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
@@ -14,7 +25,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Content-Disposition")  // Important for file downloads
+                .exposedHeaders("Content-Disposition", "ETag", "Last-Modified")  // Important for file downloads and revalidation
                 .allowCredentials(true)
                 .maxAge(3600);  // Cache preflight requests for 1 hour
     }
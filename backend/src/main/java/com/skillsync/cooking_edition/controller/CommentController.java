@@ -1,5 +1,6 @@
 package com.skillsync.cooking_edition.controller;
 
+import com.skillsync.cooking_edition.dto.FeedPage;
 import com.skillsync.cooking_edition.model.Comment;
 import com.skillsync.cooking_edition.service.InteractionService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,19 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<?> getCommentPage(
+            @PathVariable String postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            FeedPage<Comment> page = interactionService.getCommentPage(postId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid cursor"));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<Comment> addComment(
             @PathVariable String postId,
@@ -88,7 +102,7 @@ public class CommentController {
         if (!comment.getUserId().equals(userId) && !comment.getPostId().equals(userId)) {
             return ResponseEntity.badRequest().build();
         }
-        interactionService.deleteComment(commentId);
+        interactionService.deleteComment(comment);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -2,15 +2,17 @@ package com.skillsync.cooking_edition.controller;
 
 import com.skillsync.cooking_edition.model.CommunityChatMessage;
 import com.skillsync.cooking_edition.repository.CommunityChatRepository;
+import com.skillsync.cooking_edition.service.CommunityChatService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,14 +22,71 @@ public class CommunityChatController {
     @Autowired
     private CommunityChatRepository chatRepository;
 
-    @GetMapping
-    public ResponseEntity<List<CommunityChatMessage>> getAllMessages() {
-        List<CommunityChatMessage> messages = chatRepository.findAllByOrderByCreatedAtAsc();
-        return ResponseEntity.ok(messages);
+    @Autowired
+    private CommunityChatService chatService;
+
+    // Rooms live under /rooms/{roomId}; the unprefixed routes address the global room
+
+    // This used to return the whole history. It now returns the same recent window as
+    // /recent, and clients page older messages through /messages.
+    @GetMapping({"", "/rooms/{roomId}"})
+    public ResponseEntity<?> getRoomMessages(@PathVariable(required = false) String roomId) {
+        return getRecentMessages(roomId);
+    }
+
+    @GetMapping({"/messages", "/rooms/{roomId}/messages"})
+    public ResponseEntity<?> getMessagesBefore(
+            @PathVariable(required = false) String roomId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(chatService.getMessagesBefore(
+                    CommunityChatService.roomIdOrGlobal(roomId), before, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping({"/messages/since", "/rooms/{roomId}/messages/since"})
+    public ResponseEntity<?> getMessagesSince(
+            @PathVariable(required = false) String roomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(chatService.getMessagesSince(
+                    CommunityChatService.roomIdOrGlobal(roomId), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping({"/recent", "/rooms/{roomId}/recent"})
+    public ResponseEntity<?> getRecentMessages(@PathVariable(required = false) String roomId) {
+        try {
+            return ResponseEntity.ok(chatService.getRecentMessages(CommunityChatService.roomIdOrGlobal(roomId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = {"/stream", "/rooms/{roomId}/stream"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMessages(
+            @PathVariable(required = false) String roomId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok(chatService.subscribe(CommunityChatService.roomIdOrGlobal(roomId), lastEventId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/stream/stats")
+    public ResponseEntity<Map<String, Object>> getStreamStats() {
+        return ResponseEntity.ok(chatService.getStats());
     }
 
-    @PostMapping
-    public ResponseEntity<?> postMessage(@RequestParam String message) {
+    @PostMapping({"", "/rooms/{roomId}"})
+    public ResponseEntity<?> postMessage(@PathVariable(required = false) String roomId, @RequestParam String message) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof OAuth2User) {
             OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
@@ -36,13 +95,18 @@ public class CommunityChatController {
             String userPicture = oauth2User.getAttribute("picture");
 
             CommunityChatMessage chatMessage = new CommunityChatMessage();
+            try {
+                chatMessage.setRoomId(CommunityChatService.roomIdOrGlobal(roomId));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
             chatMessage.setMessage(message);
             chatMessage.setUserId(userId);
             chatMessage.setUserName(userName);
             chatMessage.setUserPicture(userPicture);
             chatMessage.setCreatedAt(LocalDateTime.now());
 
-            CommunityChatMessage saved = chatRepository.save(chatMessage);
+            CommunityChatMessage saved = chatService.post(chatMessage);
             return ResponseEntity.ok(saved);
         }
         return ResponseEntity.status(401).body("Unauthorized");
@@ -61,9 +125,7 @@ public class CommunityChatController {
         if (!message.getUserId().equals(userId)) return ResponseEntity.status(403).body("Forbidden");
         String newMessage = body.get("message");
         if (newMessage == null || newMessage.trim().isEmpty()) return ResponseEntity.badRequest().body("Message cannot be empty");
-        message.setMessage(newMessage);
-        chatRepository.save(message);
-        return ResponseEntity.ok(message);
+        return ResponseEntity.ok(chatService.edit(message, newMessage));
     }
 
     @DeleteMapping("/{id}")
@@ -77,7 +139,7 @@ public class CommunityChatController {
         CommunityChatMessage message = chatRepository.findById(id).orElse(null);
         if (message == null) return ResponseEntity.notFound().build();
         if (!message.getUserId().equals(userId)) return ResponseEntity.status(403).body("Forbidden");
-        chatRepository.deleteById(id);
+        chatService.delete(message);
         return ResponseEntity.ok().build();
     }
 } 
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.skillsync.cooking_edition.controller;
 
+import com.skillsync.cooking_edition.dto.LikeToggleResult;
 import com.skillsync.cooking_edition.model.*;
 import com.skillsync.cooking_edition.repository.*;
+import com.skillsync.cooking_edition.service.InteractionEventBus;
+import com.skillsync.cooking_edition.service.InteractionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,20 +22,17 @@ public class InteractionController {
 
     private static final Logger logger = LoggerFactory.getLogger(InteractionController.class);
 
-    @Autowired
-    private PostRepository postRepository;
-
     @Autowired
     private CommentRepository commentRepository;
 
     @Autowired
-    private LikeRepository likeRepository;
+    private NotificationRepository notificationRepository;
 
     @Autowired
-    private NotificationRepository notificationRepository;
+    private InteractionService interactionService;
 
     @Autowired
-    private UserRepository userRepository;
+    private InteractionEventBus interactionEventBus;
 
     @PostMapping("/posts/{postId}/likes")
     public ResponseEntity<?> toggleLike(
@@ -40,66 +40,13 @@ public class InteractionController {
             @RequestParam String userId) {
         try {
             logger.info("Received like request - postId: {}, userId: {}", postId, userId);
-            
-            // Find post
-            Post post = postRepository.findById(postId)
-                    .orElseThrow(() -> {
-                        logger.error("Post not found with id: {}", postId);
-                        return new RuntimeException("Post not found: " + postId);
-                    });
-            logger.info("Found post: {}", post.getId());
-            
-            // Find user
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> {
-                        logger.error("User not found with id: {}", userId);
-                        return new RuntimeException("User not found: " + userId);
-                    });
-            logger.info("Found user: {}", user.getId());
-            
-            // Check if like exists
-            Like existingLike = likeRepository.findByPostIdAndUserId(postId, userId);
-            logger.info("Existing like found: {}", existingLike != null);
-            
-            if (existingLike != null) {
-                // Unlike
-                logger.info("Removing like for post: {} and user: {}", postId, userId);
-                likeRepository.delete(existingLike);
-                post.setLikes(post.getLikes() - 1);
-            } else {
-                // Like
-                logger.info("Adding like for post: {} and user: {}", postId, userId);
-                Like like = new Like();
-                like.setPostId(postId);
-                like.setUserId(userId);
-                likeRepository.save(like);
-                post.setLikes(post.getLikes() + 1);
-
-                // Create notification for post owner
-                if (!post.getUserId().equals(userId)) { // Don't notify if user liked their own post
-                    Notification notification = new Notification();
-                    notification.setUserId(post.getUserId());
-                    notification.setSenderId(userId);
-                    notification.setSenderName(user.getName());
-                    notification.setMessage(user.getName() + " liked your post");
-                    notification.setType(Notification.NotificationType.LIKE);
-                    notification.setRelatedPostId(postId);
-                    notification.setCreatedAt(LocalDateTime.now());
-                    notification.setRead(false);
-                    notificationRepository.save(notification);
-                    logger.info("Created notification for post owner: {}", post.getUserId());
-                }
-            }
-
-            // Save updated post
-            postRepository.save(post);
-            logger.info("Successfully saved post with updated like count: {}", post.getLikes());
+            LikeToggleResult result = interactionService.toggleLike(postId, userId);
             
             // Return success response with updated like count
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("liked", existingLike == null);
-            response.put("likeCount", post.getLikes());
+            response.put("liked", result.isLiked());
+            response.put("likeCount", result.getLikeCount());
             
             logger.info("Sending response: {}", response);
             return ResponseEntity.ok(response);
@@ -119,48 +66,33 @@ public class InteractionController {
             @RequestParam String userName,
             @RequestParam(required = false) String userPicture,
             @RequestBody Map<String, String> requestBody) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-
-        Comment comment = new Comment();
-        comment.setPostId(postId);
-        comment.setUserId(userId);
-        comment.setUserName(userName);
-        comment.setUserPicture(userPicture);
-        comment.setContent(requestBody.get("content"));
-        comment.setCreatedAt(LocalDateTime.now());
-        comment.setUpdatedAt(LocalDateTime.now());
-        Comment savedComment = commentRepository.save(comment);
-
-        // Update post comment count
-        post.setComments(post.getComments() + 1);
-        postRepository.save(post);
-
-        // Create notification
-        Notification notification = new Notification();
-        notification.setUserId(post.getUserId());
-        notification.setSenderId(userId);
-        notification.setSenderName(userName);
-        notification.setMessage(userName + " commented on your post");
-        notification.setType(Notification.NotificationType.COMMENT);
-        notification.setRelatedPostId(postId);
-        notification.setRelatedCommentId(savedComment.getId());
-        notification.setCreatedAt(LocalDateTime.now());
-        notification.setRead(false);
-        notificationRepository.save(notification);
-
+        Comment savedComment = interactionService.addComment(
+                postId, userId, userName, userPicture, requestBody.get("content"));
         return ResponseEntity.ok(savedComment);
     }
 
     @GetMapping("/posts/{postId}/comments")
     public ResponseEntity<List<Comment>> getComments(@PathVariable String postId) {
-        List<Comment> comments = commentRepository.findByPostId(postId);
+        List<Comment> comments = interactionService.getComments(postId);
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/posts/{postId}/comments/page")
+    public ResponseEntity<?> getCommentPage(
+            @PathVariable String postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(interactionService.getCommentPage(postId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected comment page request with invalid cursor: {}", cursor);
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid cursor"));
+        }
+    }
+
     @GetMapping("/users/{userId}/notifications")
     public ResponseEntity<List<Notification>> getUserNotifications(@PathVariable String userId) {
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<Notification> notifications = interactionService.getUserNotifications(userId);
         return ResponseEntity.ok(notifications);
     }
 
@@ -181,8 +113,7 @@ public class InteractionController {
             return ResponseEntity.badRequest().build();
         }
 
-        notification.setRead(true);
-        notificationRepository.save(notification);
+        interactionService.markNotificationAsRead(notificationId, userId);
         return ResponseEntity.ok().build();
     }
 
@@ -226,20 +157,18 @@ public class InteractionController {
     public ResponseEntity<Void> deleteComment(
             @PathVariable String postId,
             @PathVariable String commentId) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
+        Comment comment = interactionService.getCommentById(commentId);
 
         if (!comment.getPostId().equals(postId)) {
             return ResponseEntity.badRequest().build();
         }
 
-        // Update post comment count
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-        post.setComments(post.getComments() - 1);
-        postRepository.save(post);
-
-        commentRepository.deleteById(commentId);
+        interactionService.deleteComment(comment);
         return ResponseEntity.ok().build();
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/events/stats")
+    public ResponseEntity<Map<String, Object>> getEventStats() {
+        return ResponseEntity.ok(interactionEventBus.getStats());
+    }
+}
\ No newline at end of file
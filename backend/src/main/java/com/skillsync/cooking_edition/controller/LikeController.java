@@ -1,5 +1,6 @@
 package com.skillsync.cooking_edition.controller;
 
+import com.skillsync.cooking_edition.dto.LikeToggleResult;
 import com.skillsync.cooking_edition.service.InteractionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -7,28 +8,31 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
-@RequestMapping("/api/posts/{postId}/likes")
+@RequestMapping("/api/posts")
 public class LikeController {
 
+    private static final int MAX_STATUS_IDS = 100;
+
     @Autowired
     private InteractionService interactionService;
 
-    @PostMapping("/toggle")
-    public ResponseEntity<Void> toggleLike(
+    @PostMapping("/{postId}/likes/toggle")
+    public ResponseEntity<LikeToggleResult> toggleLike(
             @PathVariable String postId,
             @AuthenticationPrincipal OAuth2User principal) {
         if (principal == null) {
             return ResponseEntity.badRequest().build();
         }
         String userId = principal.getName();
-        interactionService.toggleLike(postId, userId);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(interactionService.toggleLike(postId, userId));
     }
 
-    @GetMapping("/check")
+    @GetMapping("/{postId}/likes/check")
     public ResponseEntity<Map<String, Boolean>> checkLikeStatus(
             @PathVariable String postId,
             @AuthenticationPrincipal OAuth2User principal) {
@@ -39,4 +43,19 @@ public class LikeController {
         boolean isLiked = interactionService.isLiked(postId, userId);
         return ResponseEntity.ok(Map.of("liked", isLiked));
     }
-} 
\ No newline at end of file
+
+    // Like status for a whole page of cards, e.g. /api/posts/likes/check?postIds=a,b,c
+    @GetMapping("/likes/check")
+    public ResponseEntity<Map<String, Object>> checkLikeStatuses(
+            @RequestParam List<String> postIds,
+            @AuthenticationPrincipal OAuth2User principal) {
+        if (principal == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (postIds.size() > MAX_STATUS_IDS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_STATUS_IDS + " post ids per request"));
+        }
+        Set<String> liked = interactionService.findLikedPostIds(principal.getName(), postIds);
+        return ResponseEntity.ok(Map.of("liked", liked));
+    }
+}
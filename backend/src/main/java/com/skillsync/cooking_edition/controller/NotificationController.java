@@ -2,13 +2,17 @@ package com.skillsync.cooking_edition.controller;
 
 import com.skillsync.cooking_edition.model.Notification;
 import com.skillsync.cooking_edition.service.InteractionService;
+import com.skillsync.cooking_edition.service.NotificationStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -17,6 +21,9 @@ public class NotificationController {
     @Autowired
     private InteractionService interactionService;
 
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
     @GetMapping
     public ResponseEntity<List<Notification>> getUserNotifications(@AuthenticationPrincipal OAuth2User principal) {
         if (principal == null) {
@@ -27,6 +34,36 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<?> getNotificationPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal OAuth2User principal) {
+        if (principal == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(interactionService.getNotificationPage(principal.getName(), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid cursor"));
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal OAuth2User principal) {
+        if (principal == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(notificationStreamService.subscribe(principal.getName(), lastEventId));
+    }
+
+    @GetMapping("/stream/stats")
+    public ResponseEntity<Map<String, Object>> getStreamStats() {
+        return ResponseEntity.ok(notificationStreamService.getStats());
+    }
+
     @GetMapping("/unread")
     public ResponseEntity<List<Notification>> getUnreadNotifications(@AuthenticationPrincipal OAuth2User principal) {
         if (principal == null) {
@@ -37,6 +74,15 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    // The navbar badge polls /unread-count
+    @GetMapping({"/unread-count", "/unread/count"})
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@AuthenticationPrincipal OAuth2User principal) {
+        if (principal == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Map.of("count", interactionService.getUnreadCount(principal.getName())));
+    }
+
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<Void> markNotificationAsRead(
             @PathVariable String notificationId,
@@ -50,16 +96,24 @@ public class NotificationController {
     }
 
     @PutMapping("/read-all")
-    public ResponseEntity<Void> markAllAsRead(@AuthenticationPrincipal OAuth2User principal) {
+    public ResponseEntity<Map<String, Long>> markAllAsRead(@AuthenticationPrincipal OAuth2User principal) {
         if (principal == null) {
             return ResponseEntity.badRequest().build();
         }
         String userId = principal.getName();
-        List<Notification> unreadNotifications = interactionService.getUnreadNotifications(userId);
-        for (Notification notification : unreadNotifications) {
-            interactionService.markNotificationAsRead(notification.getId(), userId);
+        long updated = interactionService.markAllNotificationsAsRead(userId);
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Map<String, Long>> deleteAllNotifications(
+            @RequestParam(defaultValue = "false") boolean readOnly,
+            @AuthenticationPrincipal OAuth2User principal) {
+        if (principal == null) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok().build();
+        long deleted = interactionService.deleteNotifications(principal.getName(), readOnly);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
     }
 
     @DeleteMapping("/{notificationId}")
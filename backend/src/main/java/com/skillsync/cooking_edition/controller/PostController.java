@@ -17,15 +17,36 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.PostSummary;
 import com.skillsync.cooking_edition.model.Post;
 import com.skillsync.cooking_edition.repository.PostRepository;
+import com.skillsync.cooking_edition.dto.CategoryCount;
+import com.skillsync.cooking_edition.dto.IngredientMatchResults;
+import com.skillsync.cooking_edition.dto.SearchResults;
+import com.skillsync.cooking_edition.service.CategoryCatalogService;
+import com.skillsync.cooking_edition.service.ConditionalGetService;
+import com.skillsync.cooking_edition.service.IngredientMatcherService;
+import com.skillsync.cooking_edition.service.PostCacheService;
+import com.skillsync.cooking_edition.service.PostCleanupService;
+import com.skillsync.cooking_edition.service.PostCounterBuffer;
+import com.skillsync.cooking_edition.service.PostExportService;
+import com.skillsync.cooking_edition.service.PostFeedService;
+import com.skillsync.cooking_edition.service.RecipeSearchService;
+import com.skillsync.cooking_edition.service.TimelineService;
+import com.skillsync.cooking_edition.service.TrendingService;
 import javax.media.Manager;
 import javax.media.MediaLocator;
 import javax.media.Player;
@@ -39,6 +60,39 @@ public class PostController {
 
     @Autowired
     private PostRepository postRepository;
+
+    @Autowired
+    private PostFeedService postFeedService;
+
+    @Autowired
+    private PostCacheService postCacheService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private ConditionalGetService conditionalGetService;
+
+    @Autowired
+    private CategoryCatalogService categoryCatalogService;
+
+    @Autowired
+    private RecipeSearchService recipeSearchService;
+
+    @Autowired
+    private IngredientMatcherService ingredientMatcherService;
+
+    @Autowired
+    private PostExportService postExportService;
+
+    @Autowired
+    private PostCounterBuffer postCounterBuffer;
+
+    @Autowired
+    private PostCleanupService postCleanupService;
     
     @Value("${upload.path:uploads}")
     private String uploadPath;
@@ -81,14 +135,113 @@ public class PostController {
         }
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<?> feed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            FeedPage<PostSummary> page = postFeedService.getFeed(cursor, limit);
+            // A matching If-None-Match is answered with 304 before the body is written
+            return ResponseEntity.ok().eTag(conditionalGetService.etagOf(page)).body(page);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected feed request with invalid cursor: {}", cursor);
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid cursor"));
+        } catch (Exception e) {
+            logger.error("Error fetching feed page: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<?> trending(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            FeedPage<PostSummary> page = trendingService.getTrending(cursor, postFeedService.resolvePageSize(limit));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected trending request with invalid cursor: {}", cursor);
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid cursor"));
+        } catch (Exception e) {
+            logger.error("Error fetching trending posts: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @GetMapping("/timeline")
+    public ResponseEntity<?> timeline(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof OAuth2User)) {
+            return ResponseEntity.status(401).body("Unauthorized");
+        }
+        String userId = ((OAuth2User) authentication.getPrincipal()).getName();
+        try {
+            FeedPage<PostSummary> page = timelineService.getTimeline(userId, cursor, postFeedService.resolvePageSize(limit));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected timeline request with invalid cursor: {}", cursor);
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid cursor"));
+        } catch (Exception e) {
+            logger.error("Error fetching timeline for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        if (query.isBlank() || page < 0) {
+            return ResponseEntity.badRequest().body(Map.of("message", "A search query and a non-negative page are required"));
+        }
+        try {
+            SearchResults results = recipeSearchService.search(query, page, postFeedService.resolvePageSize(size));
+            logger.info("Search '{}' matched {} posts", query, results.getTotal());
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            logger.error("Error searching posts for '{}': {}", query, e.getMessage(), e);
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @GetMapping("/match")
+    public ResponseEntity<?> matchIngredients(
+            @RequestParam List<String> ingredients,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        if (ingredients.isEmpty() || page < 0) {
+            return ResponseEntity.badRequest().body(Map.of("message", "At least one ingredient and a non-negative page are required"));
+        }
+        try {
+            IngredientMatchResults results = ingredientMatcherService.match(ingredients, page, postFeedService.resolvePageSize(size));
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            logger.error("Error matching ingredients {}: {}", ingredients, e.getMessage(), e);
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        logger.info("Starting NDJSON post export (since={})", since);
+        StreamingResponseBody body = out -> postExportService.writeNdjson(since, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     @GetMapping("/my")
-    public ResponseEntity<List<Post>> myPosts() {
+    public ResponseEntity<List<PostSummary>> myPosts() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof OAuth2User) {
             OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
             String userId = oauth2User.getName();
             logger.info("Fetching posts for user: {}", userId);
-            List<Post> posts = postRepository.findByUserId(userId);
+            List<PostSummary> posts = postFeedService.getUserPosts(userId);
             logger.info("Found {} posts for user {}", posts.size(), userId);
             return ResponseEntity.ok(posts);
         }
@@ -195,6 +348,17 @@ public class PostController {
             
             try {
                 Post savedPost = postRepository.save(post);
+                postCacheService.onPostSaved(savedPost);
+                trendingService.onPostCreated(savedPost);
+                categoryCatalogService.onPostCreated(savedPost.getCategory());
+                recipeSearchService.index(savedPost);
+                ingredientMatcherService.index(savedPost);
+                try {
+                    timelineService.onPostCreated(savedPost);
+                } catch (Exception e) {
+                    // The post is saved; followers still see it through the global feed
+                    logger.error("Error fanning out post {} to timelines: {}", savedPost.getId(), e.getMessage(), e);
+                }
                 logger.info("Successfully created post with ID: {}", savedPost.getId());
                 return ResponseEntity.ok(savedPost);
             } catch (Exception e) {
@@ -208,10 +372,27 @@ public class PostController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Post> viewPost(@PathVariable String id) {
-        return postRepository.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Post> viewPost(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String validatorKey = ConditionalGetService.postKey(id);
+        String knownEtag = conditionalGetService.knownEtag(validatorKey);
+        if (conditionalGetService.matches(ifNoneMatch, knownEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(knownEtag).build();
+        }
+
+        Post cached = postCacheService.getPost(id);
+        if (cached == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Post post = postCounterBuffer.overlay(cached);
+        String etag = conditionalGetService.etagOf(post);
+        // Buffered counter changes forget the validator, so only remember flushed state
+        if (post == cached && postCacheService.isCurrent(cached)) {
+            conditionalGetService.remember(validatorKey, etag);
+        }
+        // No Last-Modified: the counters in the body change without touching updatedAt
+        return ResponseEntity.ok().eTag(etag).body(post);
     }
 
     @PutMapping("/{id}")
@@ -246,6 +427,7 @@ public class PostController {
                         return ResponseEntity.badRequest().body("Maximum " + MAX_IMAGES + " images allowed");
                     }
 
+                    String previousCategory = post.getCategory();
                     post.setTitle(title);
                     post.setDescription(description);
                     post.setContent(content != null ? content : "");
@@ -306,7 +488,15 @@ public class PostController {
                         }
                     }
                     
-                    Post updatedPost = postRepository.save(post);
+                    // Targeted $set: a full save would overwrite likes/comments incremented meanwhile
+                    Post updatedPost = postRepository.updateContent(post);
+                    if (updatedPost == null) {
+                        return ResponseEntity.notFound().build();
+                    }
+                    postCacheService.onPostSaved(updatedPost);
+                    categoryCatalogService.onPostUpdated(previousCategory, updatedPost.getCategory());
+                    recipeSearchService.index(updatedPost);
+                    ingredientMatcherService.index(updatedPost);
                     return ResponseEntity.ok(updatedPost);
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -326,11 +516,27 @@ public class PostController {
                         return ResponseEntity.status(403).body("Forbidden: You can only delete your own posts.");
                     }
                     postRepository.delete(post);
+                    postCacheService.onPostDeleted(post.getId());
+                    trendingService.onPostDeleted(post.getId());
+                    categoryCatalogService.onPostDeleted(post.getCategory());
+                    recipeSearchService.remove(post.getId());
+                    ingredientMatcherService.remove(post.getId());
+                    // Likes, comments, notifications and media go in the background
+                    postCleanupService.schedule(post);
                     return ResponseEntity.ok().build();
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/cleanup")
+    public ResponseEntity<Map<String, Object>> getCleanupStatus(@PathVariable String id) {
+        Map<String, Object> status = postCleanupService.getStatus(id);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
     @GetMapping("/test")
     public ResponseEntity<Map<String, Object>> testConnection() {
         Map<String, Object> result = new HashMap<>();
@@ -386,23 +592,21 @@ public class PostController {
         }
     }
 
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(postCacheService.getStats());
+    }
+
     @GetMapping("/categories")
     public ResponseEntity<List<String>> getCategories() {
-        try {
-            logger.info("Fetching unique categories from posts");
-            List<Post> posts = postRepository.findAll();
-            List<String> categories = posts.stream()
-                .map(Post::getCategory)
-                .filter(category -> category != null && !category.isEmpty())
-                .distinct()
-                .sorted()
-                .toList();
-            logger.info("Found {} unique categories", categories.size());
-            return ResponseEntity.ok(categories);
-        } catch (Exception e) {
-            logger.error("Error fetching categories: {}", e.getMessage(), e);
-            return ResponseEntity.status(500).body(null);
-        }
+        List<String> categories = categoryCatalogService.getCategories();
+        logger.debug("Serving {} categories from catalog", categories.size());
+        return ResponseEntity.ok(categories);
+    }
+
+    @GetMapping("/categories/counts")
+    public ResponseEntity<List<CategoryCount>> getCategoryCounts() {
+        return ResponseEntity.ok(categoryCatalogService.getCategoryCounts());
     }
 
     private boolean validateVideoDuration(MultipartFile file) {
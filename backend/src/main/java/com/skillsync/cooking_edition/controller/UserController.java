@@ -3,8 +3,11 @@ package com.skillsync.cooking_edition.controller;
 import com.skillsync.cooking_edition.dto.ProfileUpdateRequest;
 import com.skillsync.cooking_edition.dto.UserDTO;
 import com.skillsync.cooking_edition.model.User;
+import com.skillsync.cooking_edition.service.ConditionalGetService;
 import com.skillsync.cooking_edition.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
@@ -29,13 +32,26 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ConditionalGetService conditionalGetService;
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUser(@PathVariable String id) {
+    public ResponseEntity<?> getUser(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String validatorKey = ConditionalGetService.userKey(id);
+            String knownEtag = conditionalGetService.knownEtag(validatorKey);
+            if (conditionalGetService.matches(ifNoneMatch, knownEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(knownEtag).build();
+            }
+
             logger.info("Getting user with id: {}", id);
             User user = userService.getUserById(id);
             UserDTO userDTO = convertToDTO(user);
-            return ResponseEntity.ok(userDTO);
+            String etag = conditionalGetService.etagOf(userDTO);
+            conditionalGetService.remember(validatorKey, etag);
+            return ResponseEntity.ok().eTag(etag).body(userDTO);
         } catch (Exception e) {
             logger.error("Error getting user: {}", id, e);
             return ResponseEntity.notFound().build();
@@ -0,0 +1,17 @@
+package com.skillsync.cooking_edition.dto;
+
+import lombok.Data;
+
+@Data
+public class CategoryCount {
+    private String name;
+    private long count;
+
+    public CategoryCount() {
+    }
+
+    public CategoryCount(String name, long count) {
+        this.name = name;
+        this.count = count;
+    }
+}
@@ -0,0 +1,20 @@
+package com.skillsync.cooking_edition.dto;
+
+import com.skillsync.cooking_edition.model.CommunityChatMessage;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class ChatHistoryPage {
+    private List<CommunityChatMessage> items; // oldest first
+    private String beforeCursor; // scrollback from the first item; null when nothing older exists
+    private String sinceCursor; // catch-up from the last item
+    private boolean hasMore; // more messages in the direction that was asked for
+
+    public ChatHistoryPage(List<CommunityChatMessage> items, String beforeCursor, String sinceCursor, boolean hasMore) {
+        this.items = items;
+        this.beforeCursor = beforeCursor;
+        this.sinceCursor = sinceCursor;
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,17 @@
+package com.skillsync.cooking_edition.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class FeedPage<T> {
+    private List<T> items;
+    private String nextCursor; // null when there are no more pages
+    private boolean hasMore;
+
+    public FeedPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+}
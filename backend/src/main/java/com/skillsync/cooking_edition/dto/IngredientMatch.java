@@ -0,0 +1,13 @@
+package com.skillsync.cooking_edition.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class IngredientMatch {
+    private PostSummary post;
+    private int matched; // recipe ingredients the user has
+    private int total; // distinct ingredients in the recipe
+    private double coverage; // matched / total
+    private List<String> missing; // normalised names of the ingredients still needed
+}
@@ -0,0 +1,13 @@
+package com.skillsync.cooking_edition.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class IngredientMatchResults {
+    private List<String> recognized; // query ingredients that appear in at least one recipe
+    private int total;
+    private int page;
+    private int size;
+    private List<IngredientMatch> items;
+}
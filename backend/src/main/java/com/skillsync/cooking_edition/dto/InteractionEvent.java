@@ -0,0 +1,35 @@
+package com.skillsync.cooking_edition.dto;
+
+import lombok.Data;
+import java.time.Instant;
+
+/**
+ * Something a user did to a post, published by the write endpoints once the like or
+ * comment itself is stored.
+ */
+@Data
+public class InteractionEvent {
+
+    public enum Type {
+        LIKED, UNLIKED, COMMENTED, COMMENT_DELETED
+    }
+
+    private Type type;
+    private String postId;
+    private String postOwnerId; // null when the publisher did not need to load the post
+    private String actorId;
+    private String actorName; // looked up by consumers when null
+    private String commentId;
+    private Instant occurredAt;
+
+    public InteractionEvent() {
+    }
+
+    public InteractionEvent(Type type, String postId, String postOwnerId, String actorId) {
+        this.type = type;
+        this.postId = postId;
+        this.postOwnerId = postOwnerId;
+        this.actorId = actorId;
+        this.occurredAt = Instant.now();
+    }
+}
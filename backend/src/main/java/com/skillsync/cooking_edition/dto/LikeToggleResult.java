@@ -0,0 +1,14 @@
+package com.skillsync.cooking_edition.dto;
+
+import lombok.Data;
+
+@Data
+public class LikeToggleResult {
+    private boolean liked; // state after the toggle
+    private int likeCount;
+
+    public LikeToggleResult(boolean liked, int likeCount) {
+        this.liked = liked;
+        this.likeCount = likeCount;
+    }
+}
@@ -0,0 +1,65 @@
+package com.skillsync.cooking_edition.dto;
+
+import com.skillsync.cooking_edition.model.Post;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Card-sized view of a post for feeds and listings. The recipe body (content,
+ * ingredients, amounts, instructions) is only served by the post detail endpoint.
+ */
+@Data
+public class PostSummary {
+    private String id;
+    private String title;
+    private String description;
+    private String thumbnailUrl; // first media URL, if any
+    private String mediaType;
+    private Integer cookingTime;
+    private Integer servings;
+    private String userId;
+    private String userName;
+    private String category;
+    private LocalDateTime createdAt;
+    private Integer likes;
+    private Integer comments;
+
+    public static PostSummary from(Post post) {
+        PostSummary summary = new PostSummary();
+        summary.setId(post.getId());
+        summary.setTitle(post.getTitle());
+        summary.setDescription(post.getDescription());
+        summary.setThumbnailUrl(post.getMediaUrls().isEmpty() ? null : post.getMediaUrls().get(0));
+        summary.setMediaType(post.getMediaType());
+        summary.setCookingTime(post.getCookingTime());
+        summary.setServings(post.getServings());
+        summary.setUserId(post.getUserId());
+        summary.setUserName(post.getUserName());
+        summary.setCategory(post.getCategory());
+        summary.setCreatedAt(post.getCreatedAt());
+        summary.setLikes(post.getLikes());
+        summary.setComments(post.getComments());
+        return summary;
+    }
+
+    /**
+     * Copy of this summary with the like and comment counters shifted by the given deltas.
+     */
+    public PostSummary withCounterDelta(int likesDelta, int commentsDelta) {
+        PostSummary copy = new PostSummary();
+        copy.setId(id);
+        copy.setTitle(title);
+        copy.setDescription(description);
+        copy.setThumbnailUrl(thumbnailUrl);
+        copy.setMediaType(mediaType);
+        copy.setCookingTime(cookingTime);
+        copy.setServings(servings);
+        copy.setUserId(userId);
+        copy.setUserName(userName);
+        copy.setCategory(category);
+        copy.setCreatedAt(createdAt);
+        copy.setLikes(Math.max(0, (likes != null ? likes : 0) + likesDelta));
+        copy.setComments(Math.max(0, (comments != null ? comments : 0) + commentsDelta));
+        return copy;
+    }
+}
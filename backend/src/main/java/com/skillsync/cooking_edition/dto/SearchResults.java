@@ -0,0 +1,13 @@
+package com.skillsync.cooking_edition.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class SearchResults {
+    private String query;
+    private int total; // number of matching posts across all pages
+    private int page;
+    private int size;
+    private List<PostSummary> items;
+}
@@ -0,0 +1,9 @@
+package com.skillsync.cooking_edition.dto;
+
+import lombok.Data;
+
+@Data
+public class UserCount {
+    private String userId;
+    private long count;
+}
@@ -6,8 +6,11 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "community_chat_messages")
 public class CommunityChatMessage {
+    public static final String GLOBAL_ROOM = "global";
+
     @Id
     private String id;
+    private String roomId;
     private String message;
     private String userId;
     private String userName;
@@ -17,6 +20,9 @@ public class CommunityChatMessage {
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
 
+    public String getRoomId() { return roomId; }
+    public void setRoomId(String roomId) { this.roomId = roomId; }
+
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
 
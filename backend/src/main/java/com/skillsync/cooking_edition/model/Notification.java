@@ -1,8 +1,12 @@
 package com.skillsync.cooking_edition.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Document(collection = "notifications")
 public class Notification {
@@ -16,7 +20,14 @@ public class Notification {
     private String relatedPostId;
     private String relatedCommentId;
     private boolean isRead;
-    private LocalDateTime createdAt;
+    private LocalDateTime readAt; // drives TTL expiry of read notifications
+    private LocalDateTime createdAt; // time of the latest activity
+    private LocalDateTime firstActivityAt; // start of the coalescing window
+    private int count = 1; // distinct actors folded into this notification
+    private List<Actor> recentActors = new ArrayList<>(); // newest last, capped
+    @Transient
+    @JsonIgnore
+    private boolean inserted; // set by coalesce when that call created the notification
 
     public enum NotificationType {
         LIKE, COMMENT, REPLY
@@ -94,6 +105,14 @@ public class Notification {
         isRead = read;
     }
 
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+
+    public void setReadAt(LocalDateTime readAt) {
+        this.readAt = readAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -101,4 +120,78 @@ public class Notification {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
-} 
\ No newline at end of file
+
+    public LocalDateTime getFirstActivityAt() {
+        return firstActivityAt;
+    }
+
+    public void setFirstActivityAt(LocalDateTime firstActivityAt) {
+        this.firstActivityAt = firstActivityAt;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<Actor> getRecentActors() {
+        return recentActors;
+    }
+
+    public void setRecentActors(List<Actor> recentActors) {
+        this.recentActors = recentActors;
+    }
+
+    public boolean isInserted() {
+        return inserted;
+    }
+
+    public void setInserted(boolean inserted) {
+        this.inserted = inserted;
+    }
+
+    // "Ana liked your post", "Ana and 41 others liked your post"
+    public static String message(NotificationType type, String senderName, int count) {
+        if (count <= 1) {
+            return senderName + " " + action(type);
+        }
+        int others = count - 1;
+        return senderName + " and " + others + (others == 1 ? " other " : " others ") + action(type);
+    }
+
+    public static String action(NotificationType type) {
+        return type == NotificationType.LIKE ? "liked your post" : "commented on your post";
+    }
+
+    public static class Actor {
+        private String id;
+        private String name;
+
+        public Actor() {
+        }
+
+        public Actor(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
\ No newline at end of file
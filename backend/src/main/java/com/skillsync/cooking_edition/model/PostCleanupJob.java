@@ -0,0 +1,89 @@
+package com.skillsync.cooking_edition.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A deleted post whose likes, comments, notifications, timeline entries or media may
+ * still exist. Kept until the cleanup finishes, so jobs cut short by a restart are
+ * picked up again. The id is the post id.
+ */
+@Document(collection = "post_cleanup_jobs")
+public class PostCleanupJob {
+    @Id
+    private String id;
+    private String ownerId;
+    private List<String> pendingFiles;
+    private String status;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime queuedAt;
+    private LocalDateTime updatedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public List<String> getPendingFiles() {
+        return pendingFiles;
+    }
+
+    public void setPendingFiles(List<String> pendingFiles) {
+        this.pendingFiles = pendingFiles;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(LocalDateTime queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
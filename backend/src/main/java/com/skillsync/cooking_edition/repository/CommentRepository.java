@@ -5,6 +5,6 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface CommentRepository extends MongoRepository<Comment, String> {
-    List<Comment> findByPostId(String postId);
+public interface CommentRepository extends MongoRepository<Comment, String>, CommentRepositoryCustom {
+    List<Comment> findByPostIdOrderByCreatedAtAsc(String postId);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.util.List;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.Comment;
+
+public interface CommentRepositoryCustom {
+    /**
+     * A post's comments ordered by (createdAt, id), oldest first, strictly after the
+     * cursor; a null cursor starts from the first comment.
+     */
+    List<Comment> findPage(String postId, PageCursor after, int limit);
+
+    /**
+     * Deletes the comment by id. Returns true only when this call removed it.
+     */
+    boolean removeIfPresent(String commentId);
+}
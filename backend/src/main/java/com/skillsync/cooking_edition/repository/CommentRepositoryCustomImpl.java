@@ -0,0 +1,36 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.Comment;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Comment> findPage(String postId, PageCursor after, int limit) {
+        Query query = new Query(Criteria.where("postId").is(postId));
+        if (after != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdAt").gt(after.getCreatedAt()),
+                    Criteria.where("createdAt").is(after.getCreatedAt()).and("id").gt(after.getId())));
+        }
+        query.with(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"))).limit(limit);
+        return mongoTemplate.find(query, Comment.class);
+    }
+
+    @Override
+    public boolean removeIfPresent(String commentId) {
+        Query query = new Query(Criteria.where("id").is(commentId));
+        return mongoTemplate.remove(query, Comment.class).getDeletedCount() > 0;
+    }
+}
@@ -1,9 +1,10 @@
 package com.skillsync.cooking_edition.repository;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import com.skillsync.cooking_edition.model.CommunityChatMessage;
 
-public interface CommunityChatRepository extends MongoRepository<CommunityChatMessage, String> {
-    List<CommunityChatMessage> findAllByOrderByCreatedAtAsc();
+public interface CommunityChatRepository extends MongoRepository<CommunityChatMessage, String>, CommunityChatRepositoryCustom {
+    List<CommunityChatMessage> findByRoomIdOrderByCreatedAtDesc(String roomId, Pageable pageable);
 } 
\ No newline at end of file
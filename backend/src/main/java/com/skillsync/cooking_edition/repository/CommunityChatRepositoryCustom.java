@@ -0,0 +1,19 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.util.List;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.CommunityChatMessage;
+
+public interface CommunityChatRepositoryCustom {
+    /**
+     * A room's messages strictly before the cursor ordered by (createdAt, id), newest
+     * first; a null cursor starts from the newest message.
+     */
+    List<CommunityChatMessage> findBefore(String roomId, PageCursor before, int limit);
+
+    /**
+     * A room's messages strictly after the cursor ordered by (createdAt, id), oldest first.
+     */
+    List<CommunityChatMessage> findSince(String roomId, PageCursor since, int limit);
+}
@@ -0,0 +1,40 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.CommunityChatMessage;
+
+public class CommunityChatRepositoryCustomImpl implements CommunityChatRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<CommunityChatMessage> findBefore(String roomId, PageCursor before, int limit) {
+        Query query = new Query(Criteria.where("roomId").is(roomId));
+        if (before != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(before.getCreatedAt()),
+                    Criteria.where("createdAt").is(before.getCreatedAt()).and("id").lt(before.getId())));
+        }
+        query.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))).limit(limit);
+        return mongoTemplate.find(query, CommunityChatMessage.class);
+    }
+
+    @Override
+    public List<CommunityChatMessage> findSince(String roomId, PageCursor since, int limit) {
+        Query query = new Query(Criteria.where("roomId").is(roomId));
+        query.addCriteria(new Criteria().orOperator(
+                Criteria.where("createdAt").gt(since.getCreatedAt()),
+                Criteria.where("createdAt").is(since.getCreatedAt()).and("id").gt(since.getId())));
+        query.with(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"))).limit(limit);
+        return mongoTemplate.find(query, CommunityChatMessage.class);
+    }
+}
@@ -2,7 +2,15 @@ package com.skillsync.cooking_edition.repository;
 
 import com.skillsync.cooking_edition.model.Like;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
-public interface LikeRepository extends MongoRepository<Like, String> {
+import java.util.Collection;
+import java.util.List;
+
+public interface LikeRepository extends MongoRepository<Like, String>, LikeRepositoryCustom {
     Like findByPostIdAndUserId(String postId, String userId);
+
+    // Only postId is fetched; served by the unique (postId, userId) index
+    @Query(value = "{ 'userId': ?0, 'postId': { $in: ?1 } }", fields = "{ 'postId': 1 }")
+    List<Like> findPostIdsLikedByUser(String userId, Collection<String> postIds);
 } 
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.skillsync.cooking_edition.repository;
+
+public interface LikeRepositoryCustom {
+
+    /**
+     * Inserts the like unless it already exists, in one upsert against the unique
+     * (postId, userId) index. Returns true only when this call created it.
+     */
+    boolean addIfAbsent(String postId, String userId);
+
+    /**
+     * Deletes the like by its key. Returns true when a like was removed.
+     */
+    boolean removeIfPresent(String postId, String userId);
+}
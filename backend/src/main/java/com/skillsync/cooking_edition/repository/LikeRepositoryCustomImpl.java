@@ -0,0 +1,40 @@
+package com.skillsync.cooking_edition.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.client.result.UpdateResult;
+import com.skillsync.cooking_edition.model.Like;
+
+public class LikeRepositoryCustomImpl implements LikeRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean addIfAbsent(String postId, String userId) {
+        Update update = new Update()
+                .setOnInsert("postId", postId)
+                .setOnInsert("userId", userId);
+        try {
+            UpdateResult result = mongoTemplate.upsert(byKey(postId, userId), update, Like.class);
+            return result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            // A concurrent upsert for the same key won the race
+            return false;
+        }
+    }
+
+    @Override
+    public boolean removeIfPresent(String postId, String userId) {
+        return mongoTemplate.remove(byKey(postId, userId), Like.class).getDeletedCount() > 0;
+    }
+
+    private static Query byKey(String postId, String userId) {
+        return new Query(Criteria.where("postId").is(postId).and("userId").is(userId));
+    }
+}
@@ -1,11 +1,38 @@
 package com.skillsync.cooking_edition.repository;
 
+import com.skillsync.cooking_edition.dto.UserCount;
 import com.skillsync.cooking_edition.model.Notification;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface NotificationRepository extends MongoRepository<Notification, String> {
-    List<Notification> findByUserIdOrderByCreatedAtDesc(String userId);
+public interface NotificationRepository extends MongoRepository<Notification, String>, NotificationRepositoryCustom {
     List<Notification> findByUserIdAndIsReadFalse(String userId);
+    long countByUserIdAndIsReadFalse(String userId);
+
+    // Returns 1 only for the call that actually flipped it, so unread counters move once
+    @Query("{ '_id': ?0, 'isRead': false }")
+    @Update("{ '$set': { 'isRead': true, 'readAt': ?1 } }")
+    long markReadIfUnread(String notificationId, LocalDateTime readAt);
+
+    // One updateMany over the (userId, isRead) index; returns the number flipped
+    @Query("{ 'userId': ?0, 'isRead': false }")
+    @Update("{ '$set': { 'isRead': true, 'readAt': ?1 } }")
+    long markAllReadByUserId(String userId, LocalDateTime readAt);
+
+    long deleteByUserId(String userId);
+    long deleteByUserIdAndIsReadTrue(String userId);
+
+    // Unread count per user for a batch of users; users with none are absent
+    @Aggregation(pipeline = {
+            "{ '$match': { 'userId': { '$in': ?0 }, 'isRead': false } }",
+            "{ '$group': { '_id': '$userId', 'count': { '$sum': 1 } } }",
+            "{ '$project': { '_id': 0, 'userId': '$_id', 'count': 1 } }"
+    })
+    List<UserCount> countUnreadByUserIds(Collection<String> userIds);
 } 
\ No newline at end of file
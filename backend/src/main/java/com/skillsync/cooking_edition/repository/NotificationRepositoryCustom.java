@@ -0,0 +1,32 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.Notification;
+
+public interface NotificationRepositoryCustom {
+    /**
+     * Folds events into the user's open unread notification of the same type for the
+     * same post whose window opened at or after windowStart and which has fewer than
+     * maxActors actors, creating one if there is none. Joining is one findAndModify
+     * with an update pipeline: the actors join the set of distinct actor ids, the count
+     * and message follow from it, the actors move to the end of the capped recent list,
+     * and the latest actor becomes the sender. Returns the notification as it is after
+     * the write, flagged {@code inserted} when this call created it.
+     */
+    Notification coalesce(Notification latest, List<Notification.Actor> actors, LocalDateTime windowStart,
+                          int maxRecentActors, int maxActors);
+
+    /**
+     * A user's notifications ordered by (createdAt desc, id desc), strictly after the
+     * cursor; a null cursor starts from the newest.
+     */
+    List<Notification> findPage(String userId, PageCursor after, int limit);
+
+    /**
+     * Deletes all but the user's newest notifications. Returns the number deleted.
+     */
+    long trimToNewest(String userId, int keep);
+}
@@ -0,0 +1,189 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.Notification;
+
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Notification coalesce(Notification latest, List<Notification.Actor> actors, LocalDateTime windowStart,
+                                 int maxRecentActors, int maxActors) {
+        // One entry per actor, keeping the position of its latest event
+        Map<String, Notification.Actor> distinct = new LinkedHashMap<>();
+        for (Notification.Actor actor : actors) {
+            distinct.remove(actor.getId());
+            distinct.put(actor.getId(), actor);
+        }
+        Notification joined = join(latest, distinct, windowStart, maxRecentActors, maxActors);
+        if (joined != null) {
+            return joined;
+        }
+        try {
+            return open(latest, distinct, maxRecentActors);
+        } catch (DuplicateKeyException e) {
+            // The open slot is held by a concurrent insert, which is then joined, or by a
+            // notification that was read, left its window or is full, which is closed first
+            Query stale = new Query(openKey(latest).orOperator(
+                    Criteria.where("isRead").is(true),
+                    Criteria.where("firstActivityAt").lt(windowStart),
+                    Criteria.where("count").gte(maxActors)));
+            mongoTemplate.updateMulti(stale, new Update().unset("open"), Notification.class);
+            joined = join(latest, distinct, windowStart, maxRecentActors, maxActors);
+            return joined != null ? joined : open(latest, distinct, maxRecentActors);
+        }
+    }
+
+    // Folds the actors into the open notification in one pipeline update; null if none is open
+    private Notification join(Notification latest, Map<String, Notification.Actor> distinct, LocalDateTime windowStart,
+                              int maxRecentActors, int maxActors) {
+        MongoConverter converter = mongoTemplate.getConverter();
+        List<String> actorIds = new ArrayList<>(distinct.keySet());
+        List<Object> actorDocuments = new ArrayList<>(distinct.size());
+        for (Notification.Actor actor : distinct.values()) {
+            actorDocuments.add(converter.convertToMongoType(actor));
+        }
+
+        // All expressions in one $set see the document as it was before this update, so
+        // the count and message are derived from the same union the ids are set to
+        Document union = new Document("$setUnion",
+                List.of(new Document("$ifNull", List.of("$actorIds", List.of())), literal(actorIds)));
+        Document count = new Document("$size", union);
+        Document set = new Document()
+                .append("actorIds", union)
+                .append("count", count)
+                .append("message", new Document("$let", new Document("vars", new Document("count", count))
+                        .append("in", messageExpression(latest, "$$count"))))
+                .append("recentActors", new Document("$slice", List.of(
+                        new Document("$concatArrays", List.of(
+                                new Document("$filter", new Document("input", new Document("$ifNull", List.of("$recentActors", List.of())))
+                                        .append("cond", new Document("$not", List.of(
+                                                new Document("$in", List.of("$$this._id", literal(actorIds))))))),
+                                literal(actorDocuments))),
+                        -maxRecentActors)))
+                .append("senderId", literal(latest.getSenderId()))
+                .append("senderName", literal(latest.getSenderName()))
+                .append("relatedCommentId", literal(latest.getRelatedCommentId()))
+                .append("createdAt", converter.convertToMongoType(latest.getCreatedAt()));
+        AggregationUpdate update = AggregationUpdate.from(List.of(context -> new Document("$set", set)));
+
+        // A full notification no longer matches, so the next event rolls over to a new
+        // one and the id set stays bounded by maxActors plus one batch
+        Query query = new Query(openKey(latest)
+                .and("isRead").is(false)
+                .and("firstActivityAt").gte(windowStart)
+                .and("count").lt(maxActors));
+        // The id set is only needed by the update itself
+        query.fields().exclude("actorIds");
+        Document saved = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Document.class,
+                mongoTemplate.getCollectionName(Notification.class));
+        return saved != null ? converter.read(Notification.class, saved) : null;
+    }
+
+    // Inserts a new open notification; throws DuplicateKeyException while another is open
+    private Notification open(Notification latest, Map<String, Notification.Actor> distinct, int maxRecentActors) {
+        List<Notification.Actor> recent = new ArrayList<>(distinct.values());
+        Notification notification = new Notification();
+        notification.setUserId(latest.getUserId());
+        notification.setRelatedPostId(latest.getRelatedPostId());
+        notification.setType(latest.getType());
+        notification.setSenderId(latest.getSenderId());
+        notification.setSenderName(latest.getSenderName());
+        notification.setRelatedCommentId(latest.getRelatedCommentId());
+        notification.setCreatedAt(latest.getCreatedAt());
+        notification.setFirstActivityAt(latest.getCreatedAt());
+        notification.setCount(distinct.size());
+        notification.setRecentActors(new ArrayList<>(recent.subList(Math.max(0, recent.size() - maxRecentActors), recent.size())));
+        notification.setMessage(Notification.message(latest.getType(), latest.getSenderName(), distinct.size()));
+
+        Document document = new Document();
+        mongoTemplate.getConverter().write(notification, document);
+        document.put("open", true);
+        document.put("actorIds", new ArrayList<>(distinct.keySet()));
+        Document saved = mongoTemplate.insert(document, mongoTemplate.getCollectionName(Notification.class));
+        notification.setId(saved.get("_id").toString());
+        notification.setInserted(true);
+        return notification;
+    }
+
+    // Notification.message as an expression over the count after the update
+    private static Document messageExpression(Notification latest, String count) {
+        String action = Notification.action(latest.getType());
+        return new Document("$cond", List.of(
+                new Document("$lte", List.of(count, 1)),
+                literal(latest.getSenderName() + " " + action),
+                new Document("$concat", List.of(
+                        literal(latest.getSenderName() + " and "),
+                        new Document("$toString", new Document("$subtract", List.of(count, 1))),
+                        new Document("$cond", List.of(new Document("$eq", List.of(count, 2)),
+                                literal(" other "), literal(" others "))),
+                        literal(action)))));
+    }
+
+    // Only one notification per owner, post and type is open; a partial unique index enforces it
+    private static Criteria openKey(Notification notification) {
+        return Criteria.where("userId").is(notification.getUserId())
+                .and("relatedPostId").is(notification.getRelatedPostId())
+                .and("type").is(notification.getType().name())
+                .and("open").is(true);
+    }
+
+    // Values from users must never be read as field paths or operators
+    private static Document literal(Object value) {
+        return new Document("$literal", value);
+    }
+
+    @Override
+    public List<Notification> findPage(String userId, PageCursor after, int limit) {
+        Query query = new Query(Criteria.where("userId").is(userId));
+        if (after != null) {
+            query.addCriteria(atOrBefore(after, false));
+        }
+        query.with(NEWEST_FIRST).limit(limit);
+        return mongoTemplate.find(query, Notification.class);
+    }
+
+    @Override
+    public long trimToNewest(String userId, int keep) {
+        // The newest notification that falls outside the cap, then everything from it down
+        Query boundaryQuery = new Query(Criteria.where("userId").is(userId)).with(NEWEST_FIRST).skip(keep).limit(1);
+        boundaryQuery.fields().include("createdAt");
+        Notification boundary = mongoTemplate.findOne(boundaryQuery, Notification.class);
+        if (boundary == null) {
+            return 0;
+        }
+        Query query = new Query(Criteria.where("userId").is(userId))
+                .addCriteria(atOrBefore(new PageCursor(boundary.getCreatedAt(), boundary.getId()), true));
+        return mongoTemplate.remove(query, Notification.class).getDeletedCount();
+    }
+
+    private static Criteria atOrBefore(PageCursor cursor, boolean inclusive) {
+        Criteria sameTime = Criteria.where("createdAt").is(cursor.getCreatedAt()).and("id");
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(cursor.getCreatedAt()),
+                inclusive ? sameTime.lte(cursor.getId()) : sameTime.lt(cursor.getId()));
+    }
+}
@@ -2,11 +2,21 @@ package com.skillsync.cooking_edition.repository;
 
 import java.util.List;
 
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import com.skillsync.cooking_edition.dto.CategoryCount;
 import com.skillsync.cooking_edition.model.Post;
 
-public interface PostRepository extends MongoRepository<Post, String> {
+public interface PostRepository extends MongoRepository<Post, String>, PostRepositoryCustom {
     List<Post> findByUserId(String userId);
     List<Post> findAllByOrderByCreatedAtDesc();
+
+    // Post count per non-empty category, computed inside MongoDB
+    @Aggregation(pipeline = {
+            "{ '$match': { 'category': { '$nin': [null, ''] } } }",
+            "{ '$group': { '_id': '$category', 'count': { '$sum': 1 } } }",
+            "{ '$project': { '_id': 0, 'name': '$_id', 'count': 1 } }"
+    })
+    List<CategoryCount> countPostsByCategory();
 } 
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+
+public interface PostRepositoryCustom {
+    /**
+     * Summaries ordered by (createdAt desc, id desc) that come strictly after the
+     * given cursor; a null cursor starts from the newest post. Only the fields a
+     * feed card needs are read from MongoDB.
+     */
+    List<PostSummary> findFeedSummaries(PageCursor after, int limit);
+
+    List<PostSummary> findSummariesByUserId(String userId);
+
+    /**
+     * Feed-ordered summaries of posts written by any of the given users, strictly
+     * after the cursor.
+     */
+    List<PostSummary> findFeedSummariesByUserIds(Collection<String> userIds, PageCursor after, int limit);
+
+    /**
+     * Summaries for the given ids in no particular order; missing ids are skipped.
+     */
+    List<PostSummary> findSummariesByIds(Collection<String> ids);
+
+    /**
+     * Posts created at or after the given time with only id, createdAt, likes and
+     * comments populated.
+     */
+    List<Post> findCountersCreatedSince(LocalDateTime since);
+
+    /**
+     * Atomically adds the deltas to the post's like and comment counters with a single
+     * {@code $inc}, leaving every other field untouched. Returns the post with only id,
+     * userId, likes and comments populated as they are after the update, or null when
+     * no post has that id.
+     */
+    Post incrementCounters(String postId, int likesDelta, int commentsDelta);
+
+    /**
+     * Writes the author-editable fields of the given post with a single {@code $set},
+     * so concurrent counter increments are never overwritten. Returns the full post as
+     * it is after the update, or null when no post has that id.
+     */
+    Post updateContent(Post post);
+
+    /**
+     * Streams posts updated at or after the given time (all posts when null) with only
+     * the searchable text fields populated, without holding them all in memory.
+     */
+    void forEachSearchable(LocalDateTime updatedSince, Consumer<Post> action);
+
+    Set<String> findAllIds();
+
+    /**
+     * Full posts updated at or after the given time (all posts when null), ordered by
+     * (updatedAt, id) and read lazily from a MongoDB cursor. Callers must close the stream.
+     */
+    Stream<Post> streamByUpdatedAt(LocalDateTime updatedSince);
+}
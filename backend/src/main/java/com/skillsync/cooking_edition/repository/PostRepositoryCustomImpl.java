@@ -0,0 +1,157 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    // Everything PostSummary is built from; the recipe body arrays are never fetched.
+    private static final String[] SUMMARY_FIELDS = {
+            "title", "description", "mediaType", "cookingTime", "servings",
+            "userId", "userName", "category", "createdAt", "likes", "comments"
+    };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<PostSummary> findFeedSummaries(PageCursor after, int limit) {
+        return findSummaries(feedQuery(after, limit));
+    }
+
+    @Override
+    public List<PostSummary> findSummariesByUserId(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        return findSummaries(query);
+    }
+
+    @Override
+    public List<PostSummary> findFeedSummariesByUserIds(Collection<String> userIds, PageCursor after, int limit) {
+        Query query = feedQuery(after, limit).addCriteria(Criteria.where("userId").in(userIds));
+        return findSummaries(query);
+    }
+
+    @Override
+    public List<PostSummary> findSummariesByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return findSummaries(new Query(Criteria.where("id").in(ids)));
+    }
+
+    @Override
+    public List<Post> findCountersCreatedSince(LocalDateTime since) {
+        Query query = new Query(Criteria.where("createdAt").gte(since));
+        query.fields().include("createdAt", "likes", "comments");
+        return mongoTemplate.find(query, Post.class);
+    }
+
+    @Override
+    public Post incrementCounters(String postId, int likesDelta, int commentsDelta) {
+        Query query = new Query(Criteria.where("id").is(postId));
+        query.fields().include("userId", "likes", "comments");
+        Update update = new Update();
+        if (likesDelta != 0) {
+            update.inc("likes", likesDelta);
+        }
+        if (commentsDelta != 0) {
+            update.inc("comments", commentsDelta);
+        }
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Post.class);
+    }
+
+    @Override
+    public Post updateContent(Post post) {
+        Query query = new Query(Criteria.where("id").is(post.getId()));
+        Update update = new Update()
+                .set("title", post.getTitle())
+                .set("description", post.getDescription())
+                .set("content", post.getContent())
+                .set("mediaUrls", post.getMediaUrls())
+                .set("mediaType", post.getMediaType())
+                .set("ingredients", post.getIngredients())
+                .set("amounts", post.getAmounts())
+                .set("instructions", post.getInstructions())
+                .set("cookingTime", post.getCookingTime())
+                .set("servings", post.getServings())
+                .set("category", post.getCategory())
+                .set("updatedAt", post.getUpdatedAt());
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Post.class);
+    }
+
+    @Override
+    public void forEachSearchable(LocalDateTime updatedSince, Consumer<Post> action) {
+        Query query = new Query();
+        if (updatedSince != null) {
+            query.addCriteria(Criteria.where("updatedAt").gte(updatedSince));
+        }
+        query.fields().include("title", "description", "ingredients", "instructions");
+        query.cursorBatchSize(500);
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(action);
+        }
+    }
+
+    @Override
+    public Stream<Post> streamByUpdatedAt(LocalDateTime updatedSince) {
+        Query query = new Query();
+        if (updatedSince != null) {
+            query.addCriteria(Criteria.where("updatedAt").gte(updatedSince));
+        }
+        query.with(Sort.by(Sort.Order.asc("updatedAt"), Sort.Order.asc("id")));
+        // The caller closes the stream; a cursor left behind is reaped by the server's idle timeout
+        query.cursorBatchSize(500);
+        return mongoTemplate.stream(query, Post.class);
+    }
+
+    @Override
+    public Set<String> findAllIds() {
+        Query query = new Query();
+        query.fields().include("_id");
+        Set<String> ids = new HashSet<>();
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(post -> ids.add(post.getId()));
+        }
+        return ids;
+    }
+
+    private List<PostSummary> findSummaries(Query query) {
+        query.fields().include(SUMMARY_FIELDS).slice("mediaUrls", 1);
+        return mongoTemplate.find(query, Post.class).stream()
+                .map(PostSummary::from)
+                .toList();
+    }
+
+    private static Query feedQuery(PageCursor after, int limit) {
+        Query query = new Query();
+        if (after != null) {
+            query.addCriteria(afterCursor(after));
+        }
+        return query.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))).limit(limit);
+    }
+
+    // Matches the (createdAt desc, _id desc) index so every page is a bounded index range scan.
+    static Criteria afterCursor(PageCursor after) {
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(after.getCreatedAt()),
+                Criteria.where("createdAt").is(after.getCreatedAt()).and("id").lt(after.getId()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.TimelineEntry;
+
+public interface TimelineEntryRepositoryCustom {
+    /**
+     * A user's timeline entries by any of the given authors, ordered by (createdAt desc,
+     * postId desc), strictly after the cursor; a null cursor starts from the newest entry.
+     */
+    List<TimelineEntry> findPage(String userId, Collection<String> authorIds, PageCursor after, int limit);
+}
@@ -0,0 +1,31 @@
+package com.skillsync.cooking_edition.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.TimelineEntry;
+
+public class TimelineEntryRepositoryCustomImpl implements TimelineEntryRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<TimelineEntry> findPage(String userId, Collection<String> authorIds, PageCursor after, int limit) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("authorId").in(authorIds));
+        if (after != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(after.getCreatedAt()),
+                    Criteria.where("createdAt").is(after.getCreatedAt()).and("postId").lt(after.getId())));
+        }
+        query.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("postId"))).limit(limit);
+        return mongoTemplate.find(query, TimelineEntry.class);
+    }
+}
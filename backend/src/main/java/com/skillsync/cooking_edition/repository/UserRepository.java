@@ -1,8 +1,27 @@
 package com.skillsync.cooking_edition.repository;
 
 import com.skillsync.cooking_edition.model.User;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
 
 public interface UserRepository extends MongoRepository<User, String> {
     User findByEmail(String email);
+
+    // Only the ids of users whose following list contains the given user
+    @Query(value = "{ 'following': ?0 }", fields = "{ '_id': 1 }")
+    List<User> findFollowerIds(String userId);
+
+    @Query(value = "{ 'following': ?0 }", count = true)
+    long countFollowers(String userId);
+
+    @Aggregation(pipeline = {
+            "{ '$unwind': '$following' }",
+            "{ '$group': { '_id': '$following', 'followers': { '$sum': 1 } } }",
+            "{ '$match': { 'followers': { '$gt': ?0 } } }",
+            "{ '$project': { '_id': 1 } }"
+    })
+    List<String> findUserIdsWithMoreFollowersThan(long threshold);
 }
\ No newline at end of file
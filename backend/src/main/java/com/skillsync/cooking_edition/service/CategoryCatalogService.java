@@ -0,0 +1,80 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.CategoryCount;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted catalog of post categories with a post count each. Built once at startup
+ * with a MongoDB aggregation and kept current by the post write paths.
+ */
+@Service
+public class CategoryCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryCatalogService.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private final ConcurrentSkipListMap<String, Long> counts = new ConcurrentSkipListMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        try {
+            List<CategoryCount> aggregated = postRepository.countPostsByCategory();
+            counts.clear();
+            for (CategoryCount category : aggregated) {
+                counts.put(category.getName(), category.getCount());
+            }
+            logger.info("Category catalog rebuilt with {} categories", counts.size());
+        } catch (Exception e) {
+            logger.error("Could not rebuild category catalog: {}", e.getMessage(), e);
+        }
+    }
+
+    public List<String> getCategories() {
+        return new ArrayList<>(counts.keySet());
+    }
+
+    public List<CategoryCount> getCategoryCounts() {
+        List<CategoryCount> result = new ArrayList<>(counts.size());
+        counts.forEach((name, count) -> result.add(new CategoryCount(name, count)));
+        return result;
+    }
+
+    public void onPostCreated(String category) {
+        adjust(category, 1);
+    }
+
+    public void onPostUpdated(String previousCategory, String category) {
+        if (previousCategory != null && previousCategory.equals(category)) {
+            return;
+        }
+        adjust(previousCategory, -1);
+        adjust(category, 1);
+    }
+
+    public void onPostDeleted(String category) {
+        adjust(category, -1);
+    }
+
+    private void adjust(String category, long delta) {
+        if (category == null || category.isEmpty()) {
+            return;
+        }
+        if (delta < 0) {
+            // Never create a category from a decrement; drop it once it reaches zero
+            counts.computeIfPresent(category, (name, current) -> current + delta > 0 ? current + delta : null);
+            return;
+        }
+        counts.merge(category, delta, Long::sum);
+    }
+}
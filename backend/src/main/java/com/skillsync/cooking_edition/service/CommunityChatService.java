@@ -0,0 +1,335 @@
+package com.skillsync.cooking_edition.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillsync.cooking_edition.dto.ChatHistoryPage;
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.CommunityChatMessage;
+import com.skillsync.cooking_edition.repository.CommunityChatRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Community chat rooms with live delivery over server-sent events.
+ * <p>
+ * Messages are partitioned by room: history queries, the in-memory window and the
+ * subscriber registry are all keyed by roomId, so a message only costs work for the
+ * people in its room. Room ids are free-form, by convention {@code cuisine:italian},
+ * {@code plan:<learningPlanId>} or {@code category:desserts}; messages without a room
+ * belong to {@link CommunityChatMessage#GLOBAL_ROOM}.
+ * <p>
+ * MongoDB stays the durable log; every new, edited or deleted message is written there
+ * first and then broadcast to the room's connected clients. The newest messages of a
+ * room are also kept in memory, so a joining client gets its initial snapshot without a
+ * query, and the room's last few events are kept so a reconnect with Last-Event-ID only
+ * replays what it missed. Only rooms with messages or subscribers are held in memory,
+ * and rooms nobody has used for an hour are dropped.
+ * Delivery goes through the same {@link SseBroadcaster} as notification streams.
+ * <p>
+ * The in-memory state is per instance; with several instances behind a load balancer
+ * each one only broadcasts the writes it handled itself.
+ */
+@Service
+public class CommunityChatService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommunityChatService.class);
+
+    private static final Pattern ROOM_ID = Pattern.compile("[A-Za-z0-9_:.-]{1,64}");
+
+    @Autowired
+    private CommunityChatRepository chatRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${chat.recent.size:200}")
+    private int recentSize;
+
+    @Value("${chat.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${chat.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${chat.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${chat.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${chat.stream.replay-size:500}")
+    private int replaySize;
+
+    @Value("${chat.stream.sender-threads:2}")
+    private int senderThreads;
+
+    // Milliseconds since the epoch times 1000, so ids keep increasing across restarts
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final Cache<String, Room> rooms = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    private SseBroadcaster broadcaster;
+
+    @PostConstruct
+    public void init() {
+        broadcaster = new SseBroadcaster("chat-stream", bufferSize, senderThreads, this::createEmitter);
+        try {
+            // Messages from before rooms existed belong to the global room
+            long moved = mongoTemplate.updateMulti(new Query(Criteria.where("roomId").exists(false)),
+                    new Update().set("roomId", CommunityChatMessage.GLOBAL_ROOM),
+                    CommunityChatMessage.class).getModifiedCount();
+            if (moved > 0) {
+                logger.info("Assigned {} chat messages to the global room", moved);
+            }
+        } catch (Exception e) {
+            logger.error("Could not assign chat messages to the global room: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    /**
+     * The room id to use for a request; blank means the global room. Throws
+     * IllegalArgumentException for anything that is not a valid room id.
+     */
+    public static String roomIdOrGlobal(String roomId) {
+        if (roomId == null || roomId.isBlank()) {
+            return CommunityChatMessage.GLOBAL_ROOM;
+        }
+        if (!ROOM_ID.matcher(roomId).matches()) {
+            throw new IllegalArgumentException("Invalid room id");
+        }
+        return roomId;
+    }
+
+    /**
+     * The room's newest messages, oldest first, served from memory.
+     */
+    public List<CommunityChatMessage> getRecentMessages(String roomId) {
+        Room room = rooms.getIfPresent(roomId);
+        if (room == null) {
+            List<CommunityChatMessage> newest = loadRecent(roomId);
+            if (newest.isEmpty() && !broadcaster.hasSubscribers(roomId)) {
+                // Nothing to keep, so an unused room id costs no memory
+                return newest;
+            }
+            room = rooms.get(roomId, id -> new Room(sequence.get(), newest));
+        }
+        synchronized (room) {
+            return new ArrayList<>(room.recent.values());
+        }
+    }
+
+    /**
+     * Scrollback: the page of messages just before the cursor, or the newest page for a
+     * blank cursor. Items are oldest first.
+     */
+    public ChatHistoryPage getMessagesBefore(String roomId, String cursor, Integer limit) {
+        PageCursor before = PageCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        // Fetch one extra row to learn whether older messages exist
+        List<CommunityChatMessage> messages = chatRepository.findBefore(roomId, before, pageSize + 1);
+        boolean hasMore = messages.size() > pageSize;
+        List<CommunityChatMessage> items = new ArrayList<>(hasMore ? messages.subList(0, pageSize) : messages);
+        Collections.reverse(items);
+        String sinceCursor = items.isEmpty() ? cursor : cursorOf(items.get(items.size() - 1));
+        return new ChatHistoryPage(items, hasMore ? cursorOf(items.get(0)) : null, sinceCursor, hasMore);
+    }
+
+    /**
+     * Catch-up: the messages created after the cursor, oldest first. While hasMore is
+     * set the client keeps asking with the returned sinceCursor.
+     */
+    public ChatHistoryPage getMessagesSince(String roomId, String cursor, Integer limit) {
+        PageCursor since = PageCursor.decode(cursor);
+        if (since == null) {
+            return getMessagesBefore(roomId, null, limit);
+        }
+        int pageSize = pageSize(limit);
+        List<CommunityChatMessage> messages = chatRepository.findSince(roomId, since, pageSize + 1);
+        boolean hasMore = messages.size() > pageSize;
+        List<CommunityChatMessage> items = new ArrayList<>(hasMore ? messages.subList(0, pageSize) : messages);
+        String sinceCursor = items.isEmpty() ? cursor : cursorOf(items.get(items.size() - 1));
+        return new ChatHistoryPage(items, items.isEmpty() ? null : cursorOf(items.get(0)), sinceCursor, hasMore);
+    }
+
+    public CommunityChatMessage post(CommunityChatMessage message) {
+        message.setRoomId(roomIdOrGlobal(message.getRoomId()));
+        CommunityChatMessage saved = chatRepository.save(message);
+        Room room = room(saved.getRoomId());
+        synchronized (room) {
+            room.recent.put(saved.getId(), saved);
+            if (room.recent.size() > recentSize) {
+                room.recent.remove(room.recent.keySet().iterator().next());
+            }
+            broadcast(saved.getRoomId(), room, "message", saved);
+        }
+        return saved;
+    }
+
+    public CommunityChatMessage edit(CommunityChatMessage message, String newText) {
+        message.setMessage(newText);
+        CommunityChatMessage saved = chatRepository.save(message);
+        String roomId = roomIdOrGlobal(saved.getRoomId());
+        Room room = activeRoom(roomId);
+        if (room == null) {
+            return saved;
+        }
+        synchronized (room) {
+            room.recent.computeIfPresent(saved.getId(), (id, previous) -> saved);
+            broadcast(roomId, room, "edited", saved);
+        }
+        return saved;
+    }
+
+    public void delete(CommunityChatMessage message) {
+        chatRepository.deleteById(message.getId());
+        String roomId = roomIdOrGlobal(message.getRoomId());
+        Room room = activeRoom(roomId);
+        if (room == null) {
+            return;
+        }
+        synchronized (room) {
+            room.recent.remove(message.getId());
+            broadcast(roomId, room, "deleted", Map.of("id", message.getId(), "roomId", roomId));
+        }
+    }
+
+    /**
+     * Opens a live stream of one room. A new client first gets a snapshot of the recent
+     * messages; a reconnecting one gets the events after its Last-Event-ID, or a fresh
+     * snapshot when those are no longer kept.
+     */
+    public SseEmitter subscribe(String roomId, String lastEventId) {
+        SseBroadcaster.Subscriber subscriber = broadcaster.open(roomId);
+        Room room = room(roomId);
+        // Under the room lock so nothing broadcast in between is missed or delivered twice
+        synchronized (room) {
+            Long after = SseBroadcaster.parseEventId(lastEventId);
+            if (after == null || after < room.forgottenThrough) {
+                broadcaster.send(subscriber, String.valueOf(sequence.get()), "snapshot",
+                        new ArrayList<>(room.recent.values()));
+            } else {
+                broadcaster.comment(subscriber, "connected");
+                for (ChatEvent event : room.events) {
+                    if (event.id > after) {
+                        broadcaster.send(subscriber, String.valueOf(event.id), event.name, event.data);
+                    }
+                }
+            }
+            broadcaster.register(subscriber);
+        }
+        return subscriber.getEmitter();
+    }
+
+    @Scheduled(fixedRateString = "${chat.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeRooms", broadcaster.keyCount());
+        stats.put("connections", broadcaster.connectionCount());
+        stats.put("cachedRooms", rooms.estimatedSize());
+        return stats;
+    }
+
+    // Overridden in tests to capture what is sent
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private Room room(String roomId) {
+        // A new room knows no events from before its creation (restart or expiry)
+        return rooms.get(roomId, id -> new Room(sequence.get(), loadRecent(id)));
+    }
+
+    /**
+     * The room's in-memory state if anyone can see it, or null when it is neither
+     * cached nor subscribed to, in which case there is nothing to update or notify.
+     */
+    private Room activeRoom(String roomId) {
+        Room room = rooms.getIfPresent(roomId);
+        return room != null || !broadcaster.hasSubscribers(roomId) ? room : room(roomId);
+    }
+
+    private List<CommunityChatMessage> loadRecent(String roomId) {
+        List<CommunityChatMessage> newest = new ArrayList<>(
+                chatRepository.findByRoomIdOrderByCreatedAtDesc(roomId, PageRequest.of(0, recentSize)));
+        Collections.reverse(newest);
+        return newest;
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+    }
+
+    private static String cursorOf(CommunityChatMessage message) {
+        return new PageCursor(message.getCreatedAt(), message.getId()).encode();
+    }
+
+    // Callers hold the room lock
+    private void broadcast(String roomId, Room room, String name, Object data) {
+        ChatEvent event = new ChatEvent(sequence.incrementAndGet(), name, data);
+        room.events.addLast(event);
+        while (room.events.size() > replaySize) {
+            room.forgottenThrough = room.events.removeFirst().id;
+        }
+        broadcaster.broadcast(roomId, String.valueOf(event.id), name, data);
+    }
+
+    private static final class Room {
+        // Newest messages by id in arrival order
+        final LinkedHashMap<String, CommunityChatMessage> recent = new LinkedHashMap<>();
+        final Deque<ChatEvent> events = new ArrayDeque<>();
+        // Highest event id that may have existed for this room but is no longer kept
+        long forgottenThrough;
+
+        Room(long forgottenThrough, List<CommunityChatMessage> newest) {
+            this.forgottenThrough = forgottenThrough;
+            newest.forEach(message -> recent.put(message.getId(), message));
+        }
+    }
+
+    private static final class ChatEvent {
+        final long id;
+        final String name;
+        final Object data;
+
+        ChatEvent(long id, String name, Object data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+}
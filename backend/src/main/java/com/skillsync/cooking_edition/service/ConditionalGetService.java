@@ -0,0 +1,90 @@
+package com.skillsync.cooking_edition.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+/**
+ * ETag support for GET endpoints. ETags are MD5 hashes of the JSON body. The last
+ * known ETag of each resource is kept by key, so a matching If-None-Match can be
+ * answered with 304 before the resource is loaded. Writers must call
+ * {@link #forget(String)} when a resource changes.
+ */
+@Service
+public class ConditionalGetService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${http.etag.max-entries:100000}")
+    private long maxEntries;
+
+    private Cache<String, String> knownEtags;
+
+    // Identity-keyed, so a cached body shared across requests is hashed only once
+    private final Cache<Object, String> bodyEtags = Caffeine.newBuilder().weakKeys().build();
+
+    @PostConstruct
+    public void init() {
+        knownEtags = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    public static String postKey(String postId) {
+        return "post:" + postId;
+    }
+
+    public static String userKey(String userId) {
+        return "user:" + userId;
+    }
+
+    public String knownEtag(String key) {
+        return knownEtags.getIfPresent(key);
+    }
+
+    public void remember(String key, String etag) {
+        knownEtags.put(key, etag);
+    }
+
+    public void forget(String key) {
+        knownEtags.invalidate(key);
+    }
+
+    public String etagOf(Object body) {
+        return bodyEtags.get(body, this::computeEtag);
+    }
+
+    /**
+     * True if the If-None-Match header value lists the given ETag (weak comparison).
+     */
+    public boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || stripWeak(value).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String computeEtag(Object body) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(body)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise response body for ETag", e);
+        }
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
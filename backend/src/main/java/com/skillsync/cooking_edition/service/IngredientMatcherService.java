@@ -0,0 +1,356 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.IngredientMatch;
+import com.skillsync.cooking_edition.dto.IngredientMatchResults;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "What can I cook" matching. Ingredient names are normalised and dictionary-encoded
+ * to small integer ids; every recipe keeps a bitmap of its ingredient ids and every
+ * ingredient a bitmap of the recipes using it. A query ORs the ingredient bitmaps to
+ * find candidate recipes and scores each one with a single AND-cardinality, so no
+ * MongoDB scan is needed per request.
+ */
+@Service
+public class IngredientMatcherService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngredientMatcherService.class);
+
+    // Preparation words and units that do not change what the ingredient is
+    private static final Set<String> QUALIFIERS = Set.of(
+            "fresh", "chop", "dice", "mince", "slice", "grate", "peel", "crush", "ground", "large", "small",
+            "medium", "finely", "fine", "roughly", "optional", "taste", "cup", "tbsp", "tsp", "tablespoon",
+            "teaspoon", "gram", "kg", "ml", "liter", "litre", "oz", "ounce", "lb", "pound", "pinch", "handful",
+            "piece", "can", "of");
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private final Map<String, Integer> ingredientIds = new HashMap<>();
+    private final List<String> ingredientNames = new ArrayList<>();
+    private final List<RoaringBitmap> recipesByIngredient = new ArrayList<>();
+
+    private final Map<String, Integer> recipeOrdinals = new HashMap<>();
+    private final List<String> recipePostIds = new ArrayList<>();
+    private final List<RoaringBitmap> ingredientsByRecipe = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void rebuild() {
+        try {
+            AtomicInteger count = new AtomicInteger();
+            postRepository.forEachSearchable(null, post -> {
+                index(post);
+                count.incrementAndGet();
+            });
+            logger.info("Ingredient index built from {} recipes with {} distinct ingredients",
+                    count.get(), ingredientNames.size());
+        } catch (Exception e) {
+            logger.error("Could not build ingredient index: {}", e.getMessage(), e);
+        }
+    }
+
+    public void index(Post post) {
+        List<String> names = post.getIngredients() != null ? post.getIngredients() : List.of();
+        lock.writeLock().lock();
+        try {
+            removeLocked(post.getId());
+            RoaringBitmap ingredients = new RoaringBitmap();
+            for (String name : names) {
+                String normalized = normalize(name);
+                if (!normalized.isEmpty()) {
+                    ingredients.add(ingredientIdLocked(normalized));
+                }
+            }
+            if (ingredients.isEmpty()) {
+                return;
+            }
+            ingredients.runOptimize();
+
+            Integer ordinal = freeOrdinals.poll();
+            if (ordinal == null) {
+                ordinal = recipePostIds.size();
+                recipePostIds.add(post.getId());
+                ingredientsByRecipe.add(ingredients);
+            } else {
+                recipePostIds.set(ordinal, post.getId());
+                ingredientsByRecipe.set(ordinal, ingredients);
+            }
+            recipeOrdinals.put(post.getId(), ordinal);
+            IntIterator ids = ingredients.getIntIterator();
+            while (ids.hasNext()) {
+                recipesByIngredient.get(ids.next()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String postId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public IngredientMatchResults match(Collection<String> available, int page, int size) {
+        List<String> recognized = new ArrayList<>();
+        List<IngredientMatch> pageMatches = new ArrayList<>();
+        List<String> pagePostIds = new ArrayList<>();
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap query = new RoaringBitmap();
+            for (String name : new LinkedHashSet<>(available)) {
+                Integer id = ingredientIds.get(normalize(name));
+                if (id != null && !query.contains(id)) {
+                    query.add(id);
+                    recognized.add(ingredientNames.get(id));
+                }
+            }
+
+            if (!query.isEmpty()) {
+                List<RoaringBitmap> columns = new ArrayList<>();
+                query.forEach((int id) -> columns.add(recipesByIngredient.get(id)));
+                RoaringBitmap candidates = FastAggregation.or(columns.iterator());
+                total = candidates.getCardinality();
+
+                // Long arithmetic so a huge page number cannot wrap to a small or negative offset
+                int from = (int) Math.min((long) page * size, total);
+                int to = (int) Math.min((long) from + size, total);
+                if (from < to) {
+                    // Only the best `to` candidates are ever ranked, so a common ingredient
+                    // costs one AND-cardinality per recipe and no sort of the whole set
+                    TopMatches best = new TopMatches(to, recipePostIds);
+                    IntIterator ordinals = candidates.getIntIterator();
+                    while (ordinals.hasNext()) {
+                        int ordinal = ordinals.next();
+                        RoaringBitmap recipe = ingredientsByRecipe.get(ordinal);
+                        best.offer(ordinal, RoaringBitmap.andCardinality(recipe, query), recipe.getCardinality());
+                    }
+                    best.sort();
+                    for (int i = from; i < to; i++) {
+                        int ordinal = best.ordinals[i];
+                        IngredientMatch match = new IngredientMatch();
+                        match.setMatched(best.matched[i]);
+                        match.setTotal(best.totals[i]);
+                        match.setCoverage((double) best.matched[i] / best.totals[i]);
+                        match.setMissing(missingNames(ingredientsByRecipe.get(ordinal), query));
+                        pageMatches.add(match);
+                        pagePostIds.add(recipePostIds.get(ordinal));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, PostSummary> summaries = postRepository.findSummariesByIds(pagePostIds).stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        List<IngredientMatch> items = new ArrayList<>(pageMatches.size());
+        for (int i = 0; i < pageMatches.size(); i++) {
+            PostSummary summary = summaries.get(pagePostIds.get(i));
+            if (summary != null) {
+                pageMatches.get(i).setPost(summary);
+                items.add(pageMatches.get(i));
+            }
+        }
+
+        IngredientMatchResults results = new IngredientMatchResults();
+        results.setRecognized(recognized);
+        results.setTotal(total);
+        results.setPage(page);
+        results.setSize(size);
+        results.setItems(items);
+        return results;
+    }
+
+    /**
+     * Lower-cases, stems and strips quantities, units and preparation words, so that
+     * "2 cups Chopped Tomatoes" and "tomato" map to the same ingredient.
+     */
+    static String normalize(String ingredient) {
+        if (ingredient == null) {
+            return "";
+        }
+        // Drop parenthesised notes such as "(optional)"
+        String text = ingredient.replaceAll("\\([^)]*\\)", " ");
+        List<String> words = new ArrayList<>();
+        for (String term : RecipeTextAnalyzer.analyze(text)) {
+            if (!QUALIFIERS.contains(term) && !Character.isDigit(term.charAt(0))) {
+                words.add(term);
+            }
+        }
+        return String.join(" ", words);
+    }
+
+    // Callers hold the read or write lock
+    private List<String> missingNames(RoaringBitmap recipe, RoaringBitmap query) {
+        List<String> missing = new ArrayList<>();
+        RoaringBitmap.andNot(recipe, query).forEach((int id) -> missing.add(ingredientNames.get(id)));
+        return missing;
+    }
+
+    // Callers hold the write lock
+    private int ingredientIdLocked(String normalized) {
+        Integer id = ingredientIds.get(normalized);
+        if (id == null) {
+            id = ingredientNames.size();
+            ingredientIds.put(normalized, id);
+            ingredientNames.add(normalized);
+            recipesByIngredient.add(new RoaringBitmap());
+        }
+        return id;
+    }
+
+    // Callers hold the write lock
+    private void removeLocked(String postId) {
+        Integer ordinal = recipeOrdinals.remove(postId);
+        if (ordinal == null) {
+            return;
+        }
+        RoaringBitmap ingredients = ingredientsByRecipe.get(ordinal);
+        IntIterator ids = ingredients.getIntIterator();
+        while (ids.hasNext()) {
+            recipesByIngredient.get(ids.next()).remove(ordinal);
+        }
+        ingredientsByRecipe.set(ordinal, new RoaringBitmap());
+        recipePostIds.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    /**
+     * The best candidates seen so far, kept as a binary heap with the worst one at the
+     * root. Scores live in parallel int arrays, so scanning a large candidate set
+     * allocates nothing per recipe. Ranking is highest coverage first, then fewest
+     * missing ingredients, then most matched, then post id.
+     */
+    private static final class TopMatches {
+        private final int[] ordinals;
+        private final int[] matched;
+        private final int[] totals;
+        private final List<String> postIds;
+        private int count;
+
+        private TopMatches(int capacity, List<String> postIds) {
+            this.ordinals = new int[capacity];
+            this.matched = new int[capacity];
+            this.totals = new int[capacity];
+            this.postIds = postIds;
+        }
+
+        void offer(int ordinal, int matchedCount, int total) {
+            if (count < ordinals.length) {
+                set(count, ordinal, matchedCount, total);
+                siftUp(count++);
+            } else if (compare(ordinal, matchedCount, total, ordinals[0], matched[0], totals[0]) < 0) {
+                set(0, ordinal, matchedCount, total);
+                siftDown(0, count);
+            }
+        }
+
+        // Heap sort in place, leaving the arrays best first
+        void sort() {
+            for (int end = count - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+        }
+
+        // Negative when a ranks before b
+        private int compare(int ordinalA, int matchedA, int totalA, int ordinalB, int matchedB, int totalB) {
+            // matchedA / totalA against matchedB / totalB without floating point
+            int byCoverage = Long.compare((long) matchedB * totalA, (long) matchedA * totalB);
+            if (byCoverage != 0) {
+                return byCoverage;
+            }
+            int byMissing = Integer.compare(totalA - matchedA, totalB - matchedB);
+            if (byMissing != 0) {
+                return byMissing;
+            }
+            int byMatched = Integer.compare(matchedB, matchedA);
+            if (byMatched != 0) {
+                return byMatched;
+            }
+            return postIds.get(ordinalA).compareTo(postIds.get(ordinalB));
+        }
+
+        private int compareAt(int i, int j) {
+            return compare(ordinals[i], matched[i], totals[i], ordinals[j], matched[j], totals[j]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (compareAt(parent, i) >= 0) {
+                    return;
+                }
+                swap(parent, i);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int end) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < end && compareAt(left, worst) > 0) {
+                    worst = left;
+                }
+                if (right < end && compareAt(right, worst) > 0) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void set(int i, int ordinal, int matchedCount, int total) {
+            ordinals[i] = ordinal;
+            matched[i] = matchedCount;
+            totals[i] = total;
+        }
+
+        private void swap(int i, int j) {
+            int ordinal = ordinals[i];
+            int matchedCount = matched[i];
+            int total = totals[i];
+            set(i, ordinals[j], matched[j], totals[j]);
+            set(j, ordinal, matchedCount, total);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.InteractionEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process bus that moves interaction side effects (notifications, trending scores)
+ * off the request path.
+ * <p>
+ * Events are partitioned by post id into one bounded queue per worker thread, so all
+ * events of a post are handled by the same worker in publish order while different
+ * posts proceed in parallel. When a partition is full the publishing thread handles
+ * the event itself, so a burst slows writers down instead of losing events; only such
+ * an inline event can overtake events of its post that are still queued. Nothing is
+ * persisted: events still queued when the process dies are lost, which the handlers
+ * tolerate.
+ */
+@Service
+public class InteractionEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionEventBus.class);
+
+    @Autowired
+    private List<InteractionEventHandler> handlers;
+
+    @Value("${interactions.events.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${interactions.events.consumers:2}")
+    private int consumers;
+
+    @Value("${interactions.events.batch-size:100}")
+    private int batchSize;
+
+    private List<BlockingQueue<InteractionEvent>> partitions;
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong handledInline = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        partitions = new ArrayList<>(consumers);
+        for (int i = 0; i < consumers; i++) {
+            partitions.add(new ArrayBlockingQueue<>(Math.max(1, queueCapacity / consumers)));
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(consumers, runnable -> {
+            Thread thread = new Thread(runnable, "interaction-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (BlockingQueue<InteractionEvent> partition : partitions) {
+            workers.submit(() -> consume(partition));
+        }
+        logger.info("Interaction event bus started: {} consumers, queue capacity {}, {} handlers",
+                consumers, queueCapacity, handlers.size());
+    }
+
+    public void publish(InteractionEvent event) {
+        published.incrementAndGet();
+        if (running && partitionFor(event.getPostId()).offer(event)) {
+            return;
+        }
+        // Queue full (or shutting down): apply back-pressure by doing the work here
+        handledInline.incrementAndGet();
+        dispatch(List.of(event));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", partitions.stream().mapToInt(BlockingQueue::size).sum());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("published", published.get());
+        stats.put("processed", processed.get());
+        stats.put("handledInline", handledInline.get());
+        stats.put("failedHandlerCalls", failed.get());
+        stats.put("lastLagMillis", lastLagMillis.get());
+        stats.put("maxLagMillis", maxLagMillis.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (BlockingQueue<InteractionEvent> partition : partitions) {
+            List<InteractionEvent> remaining = new ArrayList<>();
+            partition.drainTo(remaining);
+            if (!remaining.isEmpty()) {
+                logger.info("Handling {} queued interaction events before shutdown", remaining.size());
+                dispatch(remaining);
+            }
+        }
+    }
+
+    private BlockingQueue<InteractionEvent> partitionFor(String postId) {
+        return partitions.get(Math.floorMod(postId != null ? postId.hashCode() : 0, partitions.size()));
+    }
+
+    private void consume(BlockingQueue<InteractionEvent> queue) {
+        List<InteractionEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                InteractionEvent first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue; // re-check running so stop() does not have to interrupt a handler
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<InteractionEvent> batch) {
+        long lag = Duration.between(batch.get(0).getOccurredAt(), Instant.now()).toMillis();
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        for (InteractionEventHandler handler : handlers) {
+            try {
+                handler.handle(batch);
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                logger.error("{} failed on a batch of {} interaction events: {}",
+                        handler.getClass().getSimpleName(), batch.size(), e.getMessage(), e);
+            }
+        }
+        processed.addAndGet(batch.size());
+    }
+}
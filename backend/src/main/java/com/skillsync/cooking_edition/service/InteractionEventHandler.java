@@ -0,0 +1,19 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.InteractionEvent;
+
+import java.util.List;
+
+/**
+ * Consumer of the interaction event bus. Every handler bean receives every batch, on a
+ * bus worker thread or, when the bus is saturated, on the publishing thread; a handler
+ * that throws does not affect the others.
+ * <p>
+ * Batches for different posts may be handled concurrently. Events of one post arrive
+ * in publish order except when the bus handles one inline under back-pressure, so
+ * handlers must be thread-safe and should fold events commutatively where they can.
+ */
+public interface InteractionEventHandler {
+
+    void handle(List<InteractionEvent> events);
+}
@@ -1,24 +1,29 @@
 package com.skillsync.cooking_edition.service;
 
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.InteractionEvent;
+import com.skillsync.cooking_edition.dto.LikeToggleResult;
+import com.skillsync.cooking_edition.dto.PageCursor;
 import com.skillsync.cooking_edition.model.*;
 import com.skillsync.cooking_edition.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class InteractionService {
 
     private static final Logger logger = LoggerFactory.getLogger(InteractionService.class);
 
-    @Autowired
-    private PostRepository postRepository;
-
     @Autowired
     private UserRepository userRepository;
 
@@ -31,101 +36,159 @@ public class InteractionService {
     @Autowired
     private NotificationRepository notificationRepository;
 
-    @Transactional
-    public void toggleLike(String postId, String userId) {
+    @Autowired
+    private PostCacheService postCacheService;
+
+    @Autowired
+    private PostCounterBuffer postCounterBuffer;
+
+    @Autowired
+    private InteractionEventBus interactionEventBus;
+
+    @Autowired
+    private UnreadCountService unreadCountService;
+
+    @Value("${comments.page.default-size:20}")
+    private int defaultCommentPageSize;
+
+    @Value("${comments.page.max-size:100}")
+    private int maxCommentPageSize;
+
+    @Value("${notifications.page.default-size:20}")
+    private int defaultNotificationPageSize;
+
+    @Value("${notifications.page.max-size:100}")
+    private int maxNotificationPageSize;
+
+    @Value("${notifications.retention.max-per-user:500}")
+    private int maxNotificationsPerUser;
+
+    /**
+     * Flips the user's like on a post. Removal and insertion go by the unique
+     * (postId, userId) key, so repeated or concurrent toggles never create duplicate
+     * likes or move the counter twice. Notifications and trending follow asynchronously.
+     */
+    public LikeToggleResult toggleLike(String postId, String userId) {
         try {
             logger.info("Service: Toggling like for post: {} and user: {}", postId, userId);
-            
-            // Find post
-            Post post = postRepository.findById(postId)
-                    .orElseThrow(() -> new RuntimeException("Post not found: " + postId));
-            
-            // Find user
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found: " + userId));
-            
-            // Check if like exists
-            Like existingLike = likeRepository.findByPostIdAndUserId(postId, userId);
-            
-            if (existingLike != null) {
+
+            // Existence and owner come from the post cache; the counter itself is buffered
+            Post post = postCacheService.getPost(postId);
+            if (post == null) {
+                throw new RuntimeException("Post not found: " + postId);
+            }
+
+            if (likeRepository.removeIfPresent(postId, userId)) {
                 // Unlike
-                logger.info("Service: Removing like for post: {} and user: {}", postId, userId);
-                likeRepository.delete(existingLike);
-                post.setLikes(post.getLikes() - 1);
-            } else {
-                // Like
-                logger.info("Service: Adding like for post: {} and user: {}", postId, userId);
-                Like like = new Like();
-                like.setPostId(postId);
-                like.setUserId(userId);
-                likeRepository.save(like);
-                post.setLikes(post.getLikes() + 1);
-
-                // Create notification for post owner
-                if (!post.getUserId().equals(userId)) { // Don't notify if user liked their own post
-                    Notification notification = new Notification();
-                    notification.setUserId(post.getUserId());
-                    notification.setSenderId(userId);
-                    notification.setSenderName(user.getName());
-                    notification.setMessage(user.getName() + " liked your post");
-                    notification.setType(Notification.NotificationType.LIKE);
-                    notification.setRelatedPostId(postId);
-                    notification.setCreatedAt(LocalDateTime.now());
-                    notification.setRead(false);
-                    notificationRepository.save(notification);
-                    logger.info("Service: Created notification for post owner: {}", post.getUserId());
-                }
+                publish(new InteractionEvent(InteractionEvent.Type.UNLIKED, postId, post.getUserId(), userId));
+                logger.info("Service: Removed like for post: {} and user: {}", postId, userId);
+                return new LikeToggleResult(false, currentLikes(post));
+            }
+
+            if (!likeRepository.addIfAbsent(postId, userId)) {
+                // A concurrent toggle already inserted this like; report it without counting twice
+                return new LikeToggleResult(true, currentLikes(post));
             }
 
-            // Save updated post
-            postRepository.save(post);
-            logger.info("Service: Successfully toggled like for post: {} and user: {}", postId, userId);
+            // Like; the owner's notification is created by the event consumers
+            publish(new InteractionEvent(InteractionEvent.Type.LIKED, postId, post.getUserId(), userId));
+            logger.info("Service: Added like for post: {} and user: {}", postId, userId);
+            return new LikeToggleResult(true, currentLikes(post));
         } catch (Exception e) {
             logger.error("Service: Error toggling like for post: {} and user: {}", postId, userId, e);
             throw e; // Re-throw to be handled by the controller
         }
     }
 
+    /**
+     * Buffers the counter change right away, so the response and the next read already
+     * see it, and hands notifications and trending to the event bus.
+     */
+    public void publish(InteractionEvent event) {
+        String postId = event.getPostId();
+        switch (event.getType()) {
+            case LIKED -> postCounterBuffer.add(postId, 1, 0);
+            case UNLIKED -> postCounterBuffer.add(postId, -1, 0);
+            case COMMENTED -> postCounterBuffer.add(postId, 0, 1);
+            case COMMENT_DELETED -> postCounterBuffer.add(postId, 0, -1);
+        }
+        interactionEventBus.publish(event);
+    }
+
+    private int currentLikes(Post post) {
+        long stored = post.getLikes() != null ? post.getLikes() : 0;
+        return (int) Math.max(0, stored + postCounterBuffer.pendingLikes(post.getId()));
+    }
+
     public boolean isLiked(String postId, String userId) {
         return likeRepository.findByPostIdAndUserId(postId, userId) != null;
     }
 
+    /**
+     * The subset of the given posts the user has liked, in a single query.
+     */
+    public Set<String> findLikedPostIds(String userId, Collection<String> postIds) {
+        if (postIds.isEmpty()) {
+            return Set.of();
+        }
+        return likeRepository.findPostIdsLikedByUser(userId, postIds).stream()
+                .map(Like::getPostId)
+                .collect(Collectors.toSet());
+    }
+
     public Comment addComment(String postId, String userId, String content) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        return addComment(postId, userId, user.getName(), null, content);
+    }
+
+    /**
+     * Saves the comment, then buffers the post's comment count and notifies the owner.
+     * Every way of commenting goes through here.
+     */
+    public Comment addComment(String postId, String userId, String userName, String userPicture, String content) {
+        Post post = postCacheService.getPost(postId);
+        if (post == null) {
+            throw new RuntimeException("Post not found");
+        }
 
         Comment comment = new Comment();
         comment.setPostId(postId);
         comment.setUserId(userId);
-        comment.setUserName(user.getName());
+        comment.setUserName(userName);
+        comment.setUserPicture(userPicture);
         comment.setContent(content);
         comment.setCreatedAt(LocalDateTime.now());
         comment.setUpdatedAt(LocalDateTime.now());
         Comment savedComment = commentRepository.save(comment);
 
-        // Update post comment count
-        post.setComments(post.getComments() + 1);
-        postRepository.save(post);
-
-        // Create notification
-        Notification notification = new Notification();
-        notification.setUserId(post.getUserId());
-        notification.setSenderId(userId);
-        notification.setSenderName(user.getName());
-        notification.setMessage(user.getName() + " commented on your post");
-        notification.setType(Notification.NotificationType.COMMENT);
-        notification.setRelatedPostId(postId);
-        notification.setCreatedAt(LocalDateTime.now());
-        notification.setRead(false);
-        notificationRepository.save(notification);
+        InteractionEvent event = new InteractionEvent(InteractionEvent.Type.COMMENTED, postId, post.getUserId(), userId);
+        event.setActorName(userName);
+        event.setCommentId(savedComment.getId());
+        publish(event);
 
         return savedComment;
     }
 
     public List<Comment> getComments(String postId) {
-        return commentRepository.findByPostId(postId);
+        return commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
+    }
+
+    /**
+     * One page of a post's comments, oldest first. The cursor is the previous page's
+     * nextCursor; null starts at the first comment.
+     */
+    public FeedPage<Comment> getCommentPage(String postId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = limit == null || limit <= 0 ? defaultCommentPageSize : Math.min(limit, maxCommentPageSize);
+        // Fetch one extra row to learn whether another page exists
+        List<Comment> comments = commentRepository.findPage(postId, after, pageSize + 1);
+        if (comments.size() <= pageSize) {
+            return new FeedPage<>(comments, null);
+        }
+        List<Comment> items = new ArrayList<>(comments.subList(0, pageSize));
+        Comment last = items.get(items.size() - 1);
+        return new FeedPage<>(items, new PageCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
     public Comment getCommentById(String commentId) {
@@ -138,19 +201,44 @@ public class InteractionService {
     }
 
     public void deleteComment(String commentId) {
-        Comment comment = getCommentById(commentId);
-        Post post = postRepository.findById(comment.getPostId())
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-        
+        deleteComment(getCommentById(commentId));
+    }
+
+    /**
+     * Deletes a comment the caller has already loaded. The comment count only moves
+     * when this call actually removed it, so repeated or concurrent deletes of the
+     * same comment decrement it once.
+     */
+    public void deleteComment(Comment comment) {
+        if (!commentRepository.removeIfPresent(comment.getId())) {
+            return;
+        }
+
         // Update post comment count
-        post.setComments(post.getComments() - 1);
-        postRepository.save(post);
-        
-        commentRepository.deleteById(commentId);
+        InteractionEvent event = new InteractionEvent(InteractionEvent.Type.COMMENT_DELETED,
+                comment.getPostId(), null, comment.getUserId());
+        event.setCommentId(comment.getId());
+        publish(event);
     }
 
+    /**
+     * The user's newest notifications, at most as many as the retention cap keeps.
+     */
     public List<Notification> getUserNotifications(String userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        return notificationRepository.findPage(userId, null, maxNotificationsPerUser);
+    }
+
+    public FeedPage<Notification> getNotificationPage(String userId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = limit == null || limit <= 0 ? defaultNotificationPageSize : Math.min(limit, maxNotificationPageSize);
+        // Fetch one extra row to learn whether another page exists
+        List<Notification> notifications = notificationRepository.findPage(userId, after, pageSize + 1);
+        if (notifications.size() <= pageSize) {
+            return new FeedPage<>(notifications, null);
+        }
+        List<Notification> items = new ArrayList<>(notifications.subList(0, pageSize));
+        Notification last = items.get(items.size() - 1);
+        return new FeedPage<>(items, new PageCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
     public List<Notification> getUnreadNotifications(String userId) {
@@ -165,8 +253,34 @@ public class InteractionService {
             throw new RuntimeException("Unauthorized");
         }
 
-        notification.setRead(true);
-        notificationRepository.save(notification);
+        if (notificationRepository.markReadIfUnread(notificationId, LocalDateTime.now()) > 0) {
+            unreadCountService.decrement(userId, 1);
+        }
+    }
+
+    /**
+     * Marks every unread notification of the user as read in a single updateMany.
+     */
+    public long markAllNotificationsAsRead(String userId) {
+        long updated = notificationRepository.markAllReadByUserId(userId, LocalDateTime.now());
+        unreadCountService.decrement(userId, updated);
+        return updated;
+    }
+
+    /**
+     * Deletes the user's notifications in one deleteMany; only the read ones if readOnly.
+     */
+    public long deleteNotifications(String userId, boolean readOnly) {
+        if (readOnly) {
+            return notificationRepository.deleteByUserIdAndIsReadTrue(userId);
+        }
+        long deleted = notificationRepository.deleteByUserId(userId);
+        unreadCountService.invalidate(userId);
+        return deleted;
+    }
+
+    public long getUnreadCount(String userId) {
+        return unreadCountService.getUnreadCount(userId);
     }
 
     public Notification getNotificationById(String notificationId) {
@@ -174,6 +288,11 @@ public class InteractionService {
     }
 
     public void deleteNotification(String notificationId) {
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            if (!notification.isRead()) {
+                unreadCountService.decrement(notification.getUserId(), 1);
+            }
+        });
     }
 } 
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.InteractionEvent;
+import com.skillsync.cooking_edition.model.Notification;
+import com.skillsync.cooking_edition.model.User;
+import com.skillsync.cooking_edition.repository.NotificationRepository;
+import com.skillsync.cooking_edition.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns like and comment events into notifications for the post owner.
+ * <p>
+ * Likes (or comments) on one post are coalesced into a single unread notification per
+ * owner for a configurable window, e.g. "Ana and 41 others liked your post", so the
+ * number of stored notifications follows distinct activity rather than raw volume. A
+ * batch costs one user lookup for sender names plus one write per distinct
+ * (owner, post, type). A notification stops taking actors once it has maxActors of
+ * them, so a viral post rolls over to a fresh one instead of growing a single
+ * document. The results are pushed to the owner's open streams.
+ * <p>
+ * Read notifications expire through a TTL index on readAt, and each user is trimmed
+ * back to a fixed number of notifications whenever they gain a new one.
+ */
+@Service
+public class NotificationService implements InteractionEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Autowired
+    private UnreadCountService unreadCountService;
+
+    @Autowired
+    private PostCacheService postCacheService;
+
+    @Value("${notifications.coalesce.window-hours:24}")
+    private long coalesceWindowHours;
+
+    @Value("${notifications.coalesce.recent-actors:5}")
+    private int maxRecentActors;
+
+    @Value("${notifications.coalesce.max-actors:1000}")
+    private int maxActors;
+
+    @Value("${notifications.retention.max-per-user:500}")
+    private int maxPerUser;
+
+    @Override
+    public void handle(List<InteractionEvent> events) {
+        List<InteractionEvent> notifiable = new ArrayList<>();
+        Set<String> unnamedActors = new HashSet<>();
+        Map<String, Boolean> postExists = new HashMap<>();
+        for (InteractionEvent event : events) {
+            if (!isNotifiable(event)) {
+                continue;
+            }
+            // Events still queued when their post was deleted would outlive its cleanup
+            if (!postExists.computeIfAbsent(event.getPostId(), id -> postCacheService.getPost(id) != null)) {
+                continue;
+            }
+            notifiable.add(event);
+            if (event.getActorName() == null) {
+                unnamedActors.add(event.getActorId());
+            }
+        }
+        if (notifiable.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> names = new HashMap<>();
+        if (!unnamedActors.isEmpty()) {
+            for (User user : userRepository.findAllById(unnamedActors)) {
+                names.put(user.getId(), user.getName());
+            }
+        }
+
+        // Events on the same post of the same kind for the same owner fold together
+        Map<String, List<Notification>> groups = new LinkedHashMap<>();
+        for (InteractionEvent event : notifiable) {
+            String senderName = event.getActorName() != null ? event.getActorName() : names.get(event.getActorId());
+            if (senderName == null) {
+                logger.warn("Skipping notification from unknown user: {}", event.getActorId());
+                continue;
+            }
+            Notification notification = toNotification(event, senderName);
+            String key = notification.getUserId() + '|' + notification.getRelatedPostId() + '|' + notification.getType();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(notification);
+        }
+
+        LocalDateTime windowStart = LocalDateTime.now().minusHours(coalesceWindowHours);
+        Set<String> grown = new HashSet<>();
+        for (List<Notification> group : groups.values()) {
+            Notification latest = group.get(group.size() - 1);
+            List<Notification.Actor> actors = new ArrayList<>(group.size());
+            for (Notification notification : group) {
+                actors.add(new Notification.Actor(notification.getSenderId(), notification.getSenderName()));
+            }
+            Notification saved = notificationRepository.coalesce(latest, actors, windowStart, maxRecentActors, maxActors);
+            if (saved.isInserted()) {
+                // Only a newly created notification adds to the unread badge
+                unreadCountService.increment(saved.getUserId(), 1);
+                grown.add(saved.getUserId());
+            }
+            notificationStreamService.publish(saved);
+        }
+        for (String userId : grown) {
+            trim(userId);
+        }
+        logger.debug("Coalesced {} interaction events into {} notifications", events.size(), groups.size());
+    }
+
+    /**
+     * Keeps the user within the per-user cap. Called whenever the user gains a
+     * notification, so it costs one indexed skip lookup and only deletes when the cap
+     * was actually crossed.
+     */
+    private void trim(String userId) {
+        try {
+            long deleted = notificationRepository.trimToNewest(userId, maxPerUser);
+            if (deleted > 0) {
+                // Some of the trimmed ones may have been unread
+                unreadCountService.invalidate(userId);
+                logger.debug("Trimmed {} notifications of user {} above the cap of {}", deleted, userId, maxPerUser);
+            }
+        } catch (Exception e) {
+            logger.error("Could not trim notifications of user {}: {}", userId, e.getMessage(), e);
+        }
+    }
+
+    private static boolean isNotifiable(InteractionEvent event) {
+        if (event.getPostOwnerId() == null) {
+            return false;
+        }
+        return switch (event.getType()) {
+            // Don't notify if user liked their own post
+            case LIKED -> !event.getPostOwnerId().equals(event.getActorId());
+            case COMMENTED -> true;
+            default -> false;
+        };
+    }
+
+    private static Notification toNotification(InteractionEvent event, String senderName) {
+        Notification notification = new Notification();
+        notification.setUserId(event.getPostOwnerId());
+        notification.setSenderId(event.getActorId());
+        notification.setSenderName(senderName);
+        if (event.getType() == InteractionEvent.Type.LIKED) {
+            notification.setType(Notification.NotificationType.LIKE);
+        } else {
+            notification.setType(Notification.NotificationType.COMMENT);
+            notification.setRelatedCommentId(event.getCommentId());
+        }
+        notification.setMessage(Notification.message(notification.getType(), senderName, 1));
+        notification.setRelatedPostId(event.getPostId());
+        notification.setCreatedAt(LocalDateTime.ofInstant(event.getOccurredAt(), ZoneId.systemDefault()));
+        notification.setRead(false);
+        return notification;
+    }
+}
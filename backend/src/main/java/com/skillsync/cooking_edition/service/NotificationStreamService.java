@@ -0,0 +1,150 @@
+package com.skillsync.cooking_edition.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillsync.cooking_edition.model.Notification;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes new notifications to connected clients over server-sent events.
+ * <p>
+ * Delivery goes through an {@link SseBroadcaster}, so a slow client never blocks
+ * whoever creates the notification. Event ids come from a sequence seeded with the
+ * boot time, and the last few notifications per user are kept so a reconnect can
+ * replay what it missed. When the gap is larger than that, the client gets a {@code resync} event and reloads over REST.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notifications.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${notifications.stream.replay-size:50}")
+    private int replaySize;
+
+    @Value("${notifications.stream.sender-threads:4}")
+    private int senderThreads;
+
+    // Milliseconds since the epoch times 1000, so ids keep increasing across restarts
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final Cache<String, Ring> recent = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    private SseBroadcaster broadcaster;
+
+    @PostConstruct
+    public void init() {
+        broadcaster = new SseBroadcaster("notification-stream", bufferSize, senderThreads, this::createEmitter);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    /**
+     * Opens a stream for the user, first replaying anything newer than lastEventId.
+     */
+    public SseEmitter subscribe(String userId, String lastEventId) {
+        SseBroadcaster.Subscriber subscriber = broadcaster.open(userId);
+        Ring ring = ring(userId);
+        // Replay and registration happen under the ring lock so nothing published in
+        // between is missed or delivered twice
+        synchronized (ring) {
+            broadcaster.comment(subscriber, "connected");
+            Long after = SseBroadcaster.parseEventId(lastEventId);
+            if (after != null) {
+                if (after < ring.forgottenThrough) {
+                    // Something newer than the client's last event is no longer kept
+                    broadcaster.send(subscriber, null, "resync", Map.of("reason", "history unavailable"));
+                }
+                for (Streamed streamed : ring.items) {
+                    if (streamed.id > after) {
+                        broadcaster.send(subscriber, String.valueOf(streamed.id), "notification", streamed.notification);
+                    }
+                }
+            }
+            broadcaster.register(subscriber);
+        }
+        logger.debug("Notification stream opened for user {} (Last-Event-ID={})", userId, lastEventId);
+        return subscriber.getEmitter();
+    }
+
+    public void publish(Notification notification) {
+        String userId = notification.getUserId();
+        Ring ring = ring(userId);
+        synchronized (ring) {
+            Streamed streamed = new Streamed(sequence.incrementAndGet(), notification);
+            ring.items.addLast(streamed);
+            while (ring.items.size() > replaySize) {
+                ring.forgottenThrough = ring.items.removeFirst().id;
+            }
+            broadcaster.broadcast(userId, String.valueOf(streamed.id), "notification", notification);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${notifications.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("users", broadcaster.keyCount());
+        stats.put("connections", broadcaster.connectionCount());
+        stats.put("replayUsers", recent.estimatedSize());
+        return stats;
+    }
+
+    // Overridden in tests to capture what is sent
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private Ring ring(String userId) {
+        // A new ring knows nothing from before its creation (restart or expiry)
+        return recent.get(userId, id -> new Ring(sequence.get()));
+    }
+
+    private static final class Ring {
+        final Deque<Streamed> items = new ArrayDeque<>();
+        // Highest event id that may have existed for this user but is no longer kept
+        long forgottenThrough;
+
+        Ring(long forgottenThrough) {
+            this.forgottenThrough = forgottenThrough;
+        }
+    }
+
+    private static final class Streamed {
+        final long id;
+        final Notification notification;
+
+        Streamed(long id, Notification notification) {
+            this.id = id;
+            this.notification = notification;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.skillsync.cooking_edition.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for single posts and feed pages. Post entries are bounded by an
+ * estimate of their heap size; feed pages by count. Writers in PostController and
+ * PostCounterBuffer keep both in sync with MongoDB.
+ * <p>
+ * Feed pages are indexed by the posts they contain, so a counter change only drops
+ * the pages showing that post.
+ */
+@Service
+public class PostCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCacheService.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ConditionalGetService conditionalGetService;
+
+    @Value("${posts.cache.max-bytes:33554432}")
+    private long maxPostBytes;
+
+    @Value("${posts.cache.post-ttl-seconds:300}")
+    private long postTtlSeconds;
+
+    @Value("${posts.cache.max-feed-pages:64}")
+    private long maxFeedPages;
+
+    @Value("${posts.cache.feed-ttl-seconds:60}")
+    private long feedTtlSeconds;
+
+    private Cache<String, Post> posts;
+    private Cache<String, FeedPage<PostSummary>> feedPages;
+
+    // Post id to the cached feed pages holding it, by page key. Inner maps are only
+    // touched inside compute on the outer map.
+    private final Map<String, Map<String, FeedPage<PostSummary>>> pagesByPost = new ConcurrentHashMap<>();
+
+    // Bumped on every counter change, so a page load that overlaps one is not kept
+    private final AtomicLong countersVersion = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        posts = Caffeine.newBuilder()
+                .maximumWeight(maxPostBytes)
+                .weigher((String id, Post post) -> estimateSize(post))
+                .expireAfterWrite(Duration.ofSeconds(postTtlSeconds))
+                .recordStats()
+                .build();
+        feedPages = Caffeine.newBuilder()
+                .maximumSize(maxFeedPages)
+                .expireAfterWrite(Duration.ofSeconds(feedTtlSeconds))
+                .removalListener((String key, FeedPage<PostSummary> page, RemovalCause cause) -> unindex(key, page))
+                .recordStats()
+                .build();
+        logger.info("Post cache initialised: {} bytes for posts, {} feed pages", maxPostBytes, maxFeedPages);
+    }
+
+    /**
+     * Returns the post, loading it from MongoDB on a miss; null if it does not exist.
+     */
+    public Post getPost(String id) {
+        return posts.get(id, key -> postRepository.findById(key).orElse(null));
+    }
+
+    /**
+     * True if this exact instance is what the cache currently holds for its id, i.e.
+     * nothing has changed the post since it was loaded.
+     */
+    public boolean isCurrent(Post post) {
+        return posts.getIfPresent(post.getId()) == post;
+    }
+
+    public FeedPage<PostSummary> getFeedPage(String cursor, int pageSize, Supplier<FeedPage<PostSummary>> loader) {
+        String key = (cursor != null ? cursor : "") + "#" + pageSize;
+        long version = countersVersion.get();
+        FeedPage<PostSummary> page = feedPages.get(key, k -> {
+            FeedPage<PostSummary> loaded = loader.get();
+            index(k, loaded);
+            return loaded;
+        });
+        if (countersVersion.get() != version) {
+            // A flush may have landed between the query and the index; the page is fine
+            // to return once but may hold counters from before the flush
+            feedPages.asMap().remove(key, page);
+        }
+        return page;
+    }
+
+    public void onPostSaved(Post post) {
+        conditionalGetService.forget(ConditionalGetService.postKey(post.getId()));
+        posts.put(post.getId(), post);
+        feedPages.invalidateAll();
+    }
+
+    public void onPostDeleted(String postId) {
+        conditionalGetService.forget(ConditionalGetService.postKey(postId));
+        posts.invalidate(postId);
+        feedPages.invalidateAll();
+    }
+
+    /**
+     * Called once a like/comment counter change is in MongoDB. The cached post and the
+     * feed pages showing it are dropped and reloaded on the next read.
+     */
+    public void onCountersChanged(String postId) {
+        countersVersion.incrementAndGet();
+        conditionalGetService.forget(ConditionalGetService.postKey(postId));
+        posts.invalidate(postId);
+        Map<String, FeedPage<PostSummary>> pages = pagesByPost.remove(postId);
+        if (pages != null) {
+            feedPages.invalidateAll(pages.keySet());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("posts", describe(posts.stats(), posts.estimatedSize()));
+        stats.put("feedPages", describe(feedPages.stats(), feedPages.estimatedSize()));
+        posts.policy().eviction().ifPresent(eviction ->
+                stats.put("postsWeightBytes", eviction.weightedSize().orElse(0L)));
+        return stats;
+    }
+
+    private void index(String key, FeedPage<PostSummary> page) {
+        for (PostSummary item : page.getItems()) {
+            pagesByPost.compute(item.getId(), (id, pages) -> {
+                Map<String, FeedPage<PostSummary>> result = pages != null ? pages : new HashMap<>();
+                result.put(key, page);
+                return result;
+            });
+        }
+    }
+
+    // Only removes entries for this exact page, so a reload of the same key stays indexed
+    private void unindex(String key, FeedPage<PostSummary> page) {
+        if (page == null) {
+            return;
+        }
+        for (PostSummary item : page.getItems()) {
+            pagesByPost.computeIfPresent(item.getId(), (id, pages) -> {
+                pages.remove(key, page);
+                return pages.isEmpty() ? null : pages;
+            });
+        }
+    }
+
+    private static Map<String, Object> describe(CacheStats stats, long size) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", size);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+        return result;
+    }
+
+    // Rough heap footprint: two bytes per char plus a fixed per-object overhead.
+    static int estimateSize(Post post) {
+        long size = 256;
+        size += length(post.getTitle()) + length(post.getDescription()) + length(post.getContent());
+        size += length(post.getCategory()) + length(post.getUserName());
+        size += length(post.getMediaUrls()) + length(post.getIngredients());
+        size += length(post.getAmounts()) + length(post.getInstructions());
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : 40L + 2L * value.length();
+    }
+
+    private static long length(List<String> values) {
+        long size = 16;
+        for (String value : values) {
+            size += length(value);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,262 @@
+package com.skillsync.cooking_edition.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillsync.cooking_edition.model.Comment;
+import com.skillsync.cooking_edition.model.Like;
+import com.skillsync.cooking_edition.model.Notification;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.PostCleanupJob;
+import com.skillsync.cooking_edition.model.TimelineEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes everything that hangs off a deleted post: likes, comments, notifications,
+ * timeline entries and uploaded media files.
+ * <p>
+ * Runs on a background thread so deleting a post stays a single-document write for
+ * the user. Every step is idempotent, so a failed job is simply run again from the
+ * start with exponential backoff.
+ * <p>
+ * Each job is recorded as a {@link PostCleanupJob} until it finishes, and the jobs a
+ * restart cut short are resumed at startup. A job that runs out of attempts stays
+ * recorded and is tried again on the next start. Progress for status requests is kept
+ * in memory for an hour.
+ */
+@Service
+public class PostCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCleanupService.class);
+
+    private static final String UPLOAD_URL_PREFIX = "/uploads/";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UnreadCountService unreadCountService;
+
+    @Value("${upload.path:uploads}")
+    private String uploadPath;
+
+    @Value("${posts.cleanup.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${posts.cleanup.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    private ScheduledExecutorService executor;
+
+    private final Cache<String, Job> jobs = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "post-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        resumePending();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queues the cleanup of an already deleted post and returns immediately.
+     */
+    public void schedule(Post post) {
+        Job job = new Job(post.getId(), post.getUserId(), post.getMediaUrls(), LocalDateTime.now());
+        persist(job);
+        start(job);
+    }
+
+    /**
+     * Progress of the cleanup for a post, or null if none ran in the last hour.
+     */
+    public Map<String, Object> getStatus(String postId) {
+        Job job = jobs.getIfPresent(postId);
+        return job != null ? job.describe() : null;
+    }
+
+    private void resumePending() {
+        try {
+            List<PostCleanupJob> pending = mongoTemplate.findAll(PostCleanupJob.class);
+            for (PostCleanupJob pendingJob : pending) {
+                start(new Job(pendingJob.getId(), pendingJob.getOwnerId(), pendingJob.getPendingFiles(),
+                        pendingJob.getQueuedAt()));
+            }
+            if (!pending.isEmpty()) {
+                logger.info("Resuming cleanup of {} deleted posts", pending.size());
+            }
+        } catch (Exception e) {
+            logger.error("Could not load pending post cleanups: {}", e.getMessage(), e);
+        }
+    }
+
+    private void start(Job job) {
+        jobs.put(job.postId, job);
+        executor.execute(() -> run(job));
+    }
+
+    private void run(Job job) {
+        job.attempts++;
+        job.status = "RUNNING";
+        try {
+            job.comments += deleteAll(Comment.class, "postId", job.postId);
+            job.likes += deleteAll(Like.class, "postId", job.postId);
+            long notifications = deleteAll(Notification.class, "relatedPostId", job.postId);
+            if (notifications > 0 && job.ownerId != null) {
+                // Notifications about a post all belong to its owner; some may have been unread
+                unreadCountService.invalidate(job.ownerId);
+            }
+            job.notifications += notifications;
+            job.timelineEntries += deleteAll(TimelineEntry.class, "postId", job.postId);
+            deleteMedia(job);
+            mongoTemplate.remove(new Query(Criteria.where("id").is(job.postId)), PostCleanupJob.class);
+            job.status = "DONE";
+            job.lastError = null;
+            job.finishedAt = LocalDateTime.now();
+            logger.info("Cleaned up post {}: {} comments, {} likes, {} notifications, {} timeline entries, {} files",
+                    job.postId, job.comments, job.likes, job.notifications, job.timelineEntries, job.files);
+        } catch (Exception e) {
+            job.lastError = e.getMessage();
+            if (job.attempts >= maxAttempts) {
+                job.status = "FAILED";
+                job.finishedAt = LocalDateTime.now();
+                persist(job);
+                logger.error("Giving up cleanup of post {} after {} attempts: {}", job.postId, job.attempts, e.getMessage(), e);
+                return;
+            }
+            long delay = initialBackoffMs << (job.attempts - 1);
+            job.status = "RETRYING";
+            persist(job);
+            logger.warn("Cleanup of post {} failed (attempt {}), retrying in {} ms: {}",
+                    job.postId, job.attempts, delay, e.getMessage());
+            executor.schedule(() -> run(job), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Best effort: the job still runs in memory if MongoDB cannot record it
+    private void persist(Job job) {
+        try {
+            mongoTemplate.save(job.toRecord());
+        } catch (Exception e) {
+            logger.warn("Could not record cleanup state of post {}: {}", job.postId, e.getMessage());
+        }
+    }
+
+    private long deleteAll(Class<?> type, String field, String postId) {
+        return mongoTemplate.remove(new Query(Criteria.where(field).is(postId)), type).getDeletedCount();
+    }
+
+    private void deleteMedia(Job job) throws IOException {
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        List<String> remaining = new ArrayList<>();
+        IOException failure = null;
+        for (String url : job.pendingFiles) {
+            if (url == null || !url.startsWith(UPLOAD_URL_PREFIX)) {
+                continue; // not one of our uploads
+            }
+            Path file = root.resolve(url.substring(UPLOAD_URL_PREFIX.length())).normalize();
+            if (!file.startsWith(root)) {
+                logger.warn("Refusing to delete media outside the upload directory: {}", url);
+                continue;
+            }
+            try {
+                if (Files.deleteIfExists(file)) {
+                    job.files++;
+                }
+            } catch (IOException e) {
+                remaining.add(url);
+                failure = e;
+            }
+        }
+        job.pendingFiles = remaining;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Mutated only on the cleanup thread; read by status requests
+    private static final class Job {
+        final String postId;
+        final String ownerId;
+        final LocalDateTime queuedAt;
+        volatile List<String> pendingFiles;
+        volatile String status = "QUEUED";
+        volatile int attempts;
+        volatile long comments;
+        volatile long likes;
+        volatile long notifications;
+        volatile long timelineEntries;
+        volatile long files;
+        volatile String lastError;
+        volatile LocalDateTime finishedAt;
+
+        Job(String postId, String ownerId, List<String> mediaUrls, LocalDateTime queuedAt) {
+            this.postId = postId;
+            this.ownerId = ownerId;
+            this.pendingFiles = mediaUrls != null ? new ArrayList<>(mediaUrls) : List.of();
+            this.queuedAt = queuedAt;
+        }
+
+        PostCleanupJob toRecord() {
+            PostCleanupJob stored = new PostCleanupJob();
+            stored.setId(postId);
+            stored.setOwnerId(ownerId);
+            stored.setPendingFiles(pendingFiles);
+            stored.setStatus(status);
+            stored.setAttempts(attempts);
+            stored.setLastError(lastError);
+            stored.setQueuedAt(queuedAt);
+            stored.setUpdatedAt(LocalDateTime.now());
+            return stored;
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("postId", postId);
+            result.put("status", status);
+            result.put("attempts", attempts);
+            result.put("deletedComments", comments);
+            result.put("deletedLikes", likes);
+            result.put("deletedNotifications", notifications);
+            result.put("deletedTimelineEntries", timelineEntries);
+            result.put("deletedFiles", files);
+            result.put("pendingFiles", pendingFiles.size());
+            result.put("lastError", lastError);
+            result.put("queuedAt", queuedAt);
+            result.put("finishedAt", finishedAt);
+            return result;
+        }
+    }
+}
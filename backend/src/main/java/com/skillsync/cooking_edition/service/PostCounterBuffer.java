@@ -0,0 +1,290 @@
+package com.skillsync.cooking_edition.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for post like and comment counters.
+ * <p>
+ * Deltas are added to striped {@link LongAdder}s per post, so a viral post costs no
+ * MongoDB write per like. A scheduled flush sends everything pending as one unordered
+ * bulk of {@code $inc} updates and then has {@link PostCacheService} drop whatever it
+ * cached for the flushed posts. Reads overlay the pending deltas on top through the
+ * {@code overlay} methods.
+ * <p>
+ * Adders are never reset; each counter keeps the total it has sent to MongoDB, and the
+ * pending delta is the difference. A delta counts as sent from just before the bulk
+ * write, since from then on a read may already find it in MongoDB, and is handed back
+ * if the write fails. Counters idle for a whole cycle are retired, and a
+ * retired counter is flushed once more on the following cycle to pick up any add that
+ * raced with its removal.
+ */
+@Service
+public class PostCounterBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCounterBuffer.class);
+
+    private static final int MAX_BULK_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCacheService postCacheService;
+
+    @Autowired
+    private ConditionalGetService conditionalGetService;
+
+    @Value("${posts.counters.enabled:true}")
+    private boolean enabled;
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> retired = new ConcurrentHashMap<>();
+
+    /**
+     * Records a counter change. The cached post stays as it is; only its validator is
+     * dropped, because the visible counts change with the overlay.
+     */
+    public void add(String postId, int likesDelta, int commentsDelta) {
+        if (!enabled) {
+            applyNow(postId, likesDelta, commentsDelta);
+            return;
+        }
+        Counter counter = counters.computeIfAbsent(postId, id -> new Counter());
+        if (likesDelta != 0) {
+            counter.likes.add(likesDelta);
+        }
+        if (commentsDelta != 0) {
+            counter.comments.add(commentsDelta);
+        }
+        conditionalGetService.forget(ConditionalGetService.postKey(postId));
+    }
+
+    public long pendingLikes(String postId) {
+        long pending = 0;
+        Counter counter = counters.get(postId);
+        if (counter != null) {
+            pending += counter.pendingLikes();
+        }
+        counter = retired.get(postId);
+        if (counter != null) {
+            pending += counter.pendingLikes();
+        }
+        return pending;
+    }
+
+    public long pendingComments(String postId) {
+        long pending = 0;
+        Counter counter = counters.get(postId);
+        if (counter != null) {
+            pending += counter.pendingComments();
+        }
+        counter = retired.get(postId);
+        if (counter != null) {
+            pending += counter.pendingComments();
+        }
+        return pending;
+    }
+
+    /**
+     * The post with pending deltas applied. Returns the same instance when nothing is
+     * pending, otherwise a shallow copy so the cached post is never modified.
+     */
+    public Post overlay(Post post) {
+        if (post == null) {
+            return null;
+        }
+        long likes = pendingLikes(post.getId());
+        long comments = pendingComments(post.getId());
+        if (likes == 0 && comments == 0) {
+            return post;
+        }
+        Post copy = new Post();
+        BeanUtils.copyProperties(post, copy);
+        copy.setLikes(clamp(post.getLikes(), likes));
+        copy.setComments(clamp(post.getComments(), comments));
+        return copy;
+    }
+
+    public List<PostSummary> overlay(List<PostSummary> summaries) {
+        List<PostSummary> result = null;
+        for (int i = 0; i < summaries.size(); i++) {
+            PostSummary summary = summaries.get(i);
+            long likes = pendingLikes(summary.getId());
+            long comments = pendingComments(summary.getId());
+            if (likes == 0 && comments == 0) {
+                continue;
+            }
+            if (result == null) {
+                result = new ArrayList<>(summaries);
+            }
+            result.set(i, summary.withCounterDelta((int) likes, (int) comments));
+        }
+        return result != null ? result : summaries;
+    }
+
+    public FeedPage<PostSummary> overlay(FeedPage<PostSummary> page) {
+        List<PostSummary> items = overlay(page.getItems());
+        return items == page.getItems() ? page : new FeedPage<>(items, page.getNextCursor());
+    }
+
+    @Scheduled(fixedDelayString = "${posts.counters.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Flush> batch = new ArrayList<>();
+        Set<String> idle = new HashSet<>();
+        for (Map.Entry<String, Counter> entry : retired.entrySet()) {
+            collect(entry.getKey(), entry.getValue(), batch, null);
+        }
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            collect(entry.getKey(), entry.getValue(), batch, idle);
+        }
+        for (int from = 0; from < batch.size(); from += MAX_BULK_SIZE) {
+            write(batch.subList(from, Math.min(batch.size(), from + MAX_BULK_SIZE)));
+        }
+
+        // Everything retired last cycle has now had its final flush
+        retired.values().removeIf(counter -> counter.pendingLikes() == 0 && counter.pendingComments() == 0);
+        for (String postId : idle) {
+            // Leave it live while an older retired counter still waits on a failed write
+            Counter counter = counters.get(postId);
+            if (counter != null && !retired.containsKey(postId) && counters.remove(postId, counter)) {
+                retired.put(postId, counter);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("Flushing {} buffered post counters before shutdown", counters.size() + retired.size());
+        flush();
+        // Anything that raced with the last flush would otherwise be lost
+        flush();
+    }
+
+    private static void collect(String postId, Counter counter, List<Flush> batch, Set<String> idle) {
+        long likes = counter.pendingLikes();
+        long comments = counter.pendingComments();
+        if (likes != 0 || comments != 0) {
+            batch.add(new Flush(postId, counter, likes, comments));
+        } else if (idle != null) {
+            idle.add(postId);
+        }
+    }
+
+    private void write(List<Flush> flushes) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        for (Flush flush : flushes) {
+            Update update = new Update();
+            if (flush.likes != 0) {
+                update.inc("likes", flush.likes);
+            }
+            if (flush.comments != 0) {
+                update.inc("comments", flush.comments);
+            }
+            bulk.updateOne(new Query(Criteria.where("id").is(flush.postId)), update);
+        }
+
+        for (Flush flush : flushes) {
+            flush.counter.sentLikes += flush.likes;
+            flush.counter.sentComments += flush.comments;
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+            }
+            logger.warn("{} of {} counter updates failed and will be retried: {}",
+                    failed.size(), flushes.size(), e.getMessage());
+        } catch (Exception e) {
+            logger.error("Could not flush {} post counters, will retry: {}", flushes.size(), e.getMessage(), e);
+            flushes.forEach(PostCounterBuffer::handBack);
+            return;
+        }
+
+        for (int i = 0; i < flushes.size(); i++) {
+            Flush flush = flushes.get(i);
+            if (failed.contains(i)) {
+                handBack(flush);
+            } else {
+                postCacheService.onCountersChanged(flush.postId);
+            }
+        }
+        logger.debug("Flushed {} post counters", flushes.size() - failed.size());
+    }
+
+    // The write did not happen, so the delta is pending again
+    private static void handBack(Flush flush) {
+        flush.counter.sentLikes -= flush.likes;
+        flush.counter.sentComments -= flush.comments;
+    }
+
+    private void applyNow(String postId, int likesDelta, int commentsDelta) {
+        postRepository.incrementCounters(postId, likesDelta, commentsDelta);
+        postCacheService.onCountersChanged(postId);
+    }
+
+    private static int clamp(Integer stored, long pending) {
+        return (int) Math.max(0, (stored != null ? stored : 0) + pending);
+    }
+
+    private static final class Counter {
+        final LongAdder likes = new LongAdder();
+        final LongAdder comments = new LongAdder();
+        // Written only by the flushing thread
+        volatile long sentLikes;
+        volatile long sentComments;
+
+        long pendingLikes() {
+            return likes.sum() - sentLikes;
+        }
+
+        long pendingComments() {
+            return comments.sum() - sentComments;
+        }
+    }
+
+    private static final class Flush {
+        final String postId;
+        final Counter counter;
+        final long likes;
+        final long comments;
+
+        Flush(String postId, Counter counter, long likes, long comments) {
+            this.postId = postId;
+            this.counter = counter;
+            this.likes = likes;
+            this.comments = comments;
+        }
+    }
+}
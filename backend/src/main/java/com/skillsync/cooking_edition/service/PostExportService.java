@@ -0,0 +1,63 @@
+package com.skillsync.cooking_edition.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes posts as newline-delimited JSON straight from a MongoDB cursor. Only one
+ * cursor batch is held at a time, and a slow client blocks the writes, which in turn
+ * stops the cursor from fetching further batches, so memory stays flat. Counters
+ * include likes and comments not yet flushed, as on the post page and the feed.
+ */
+@Service
+public class PostExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostExportService.class);
+
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PostCounterBuffer postCounterBuffer;
+
+    public void writeNdjson(LocalDateTime updatedSince, OutputStream target) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Post.class);
+        OutputStream out = new BufferedOutputStream(target, 64 * 1024);
+        long written = 0;
+        try (Stream<Post> posts = postRepository.streamByUpdatedAt(updatedSince)) {
+            Iterator<Post> cursor = posts.iterator();
+            while (cursor.hasNext()) {
+                out.write(writer.writeValueAsBytes(postCounterBuffer.overlay(cursor.next())));
+                out.write('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+            logger.info("Exported {} posts (since={})", written, updatedSince);
+        } catch (IOException | UncheckedIOException e) {
+            // Usually the client went away; closing the stream releases the cursor
+            logger.warn("Post export aborted after {} posts: {}", written, e.getMessage());
+            throw e instanceof IOException io ? io : ((UncheckedIOException) e).getCause();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class PostFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostFeedService.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCacheService postCacheService;
+
+    @Autowired
+    private PostCounterBuffer postCounterBuffer;
+
+    @Value("${posts.feed.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${posts.feed.max-page-size:50}")
+    private int maxPageSize;
+
+    /**
+     * Returns one page of the feed, newest first. The cursor is the token from the
+     * previous page's nextCursor; null starts at the top.
+     */
+    public FeedPage<PostSummary> getFeed(String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+
+        FeedPage<PostSummary> page = postCacheService.getFeedPage(cursor, pageSize, () -> {
+            // Fetch one extra row to learn whether another page exists
+            List<PostSummary> posts = postRepository.findFeedSummaries(after, pageSize + 1);
+            logger.debug("Fetched {} posts for feed page (cursor={}, limit={})", posts.size(), cursor, pageSize);
+            return toPage(posts, pageSize);
+        });
+        // Cached pages hold flushed counters; add whatever is still buffered
+        return postCounterBuffer.overlay(page);
+    }
+
+    public List<PostSummary> getUserPosts(String userId) {
+        return postCounterBuffer.overlay(postRepository.findSummariesByUserId(userId));
+    }
+
+    public int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    static FeedPage<PostSummary> toPage(List<PostSummary> posts, int pageSize) {
+        if (posts.size() <= pageSize) {
+            return new FeedPage<>(posts, null);
+        }
+        List<PostSummary> items = new ArrayList<>(posts.subList(0, pageSize));
+        PostSummary last = items.get(items.size() - 1);
+        return new FeedPage<>(items, new PageCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+}
@@ -0,0 +1,287 @@
+package com.skillsync.cooking_edition.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over recipe terms with Okapi BM25 ranking. Each document is a post
+ * id plus its term frequencies; postings map each term to the documents containing
+ * it. Readers share a lock, so searches run in parallel with each other and block
+ * only while a post is being (re)indexed.
+ */
+public class RecipeSearchIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x52534958; // "RSIX"
+    // Bumped whenever RecipeTextAnalyzer stems terms differently
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Document> documents = new HashMap<>();
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private long totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static final class Hit {
+        private final String postId;
+        private final double score;
+
+        Hit(String postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+
+        public String getPostId() {
+            return postId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    public static final class Result {
+        private final List<Hit> hits;
+        private final int total;
+
+        Result(List<Hit> hits, int total) {
+            this.hits = hits;
+            this.total = total;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    private static final class Document {
+        private final Map<String, Integer> termFrequencies;
+        private final int length;
+
+        Document(Map<String, Integer> termFrequencies, int length) {
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Adds or replaces a document. Term frequencies already include field weights.
+     */
+    public void put(String postId, Map<String, Integer> termFrequencies) {
+        int length = 0;
+        for (int frequency : termFrequencies.values()) {
+            length += frequency;
+        }
+        Document document = new Document(new HashMap<>(termFrequencies), length);
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+            documents.put(postId, document);
+            totalLength += length;
+            for (Map.Entry<String, Integer> term : document.termFrequencies.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).put(postId, term.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String postId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps only the given documents; returns how many were dropped.
+     */
+    public int retainAll(Set<String> postIds) {
+        lock.writeLock().lock();
+        try {
+            List<String> stale = new ArrayList<>();
+            for (String postId : documents.keySet()) {
+                if (!postIds.contains(postId)) {
+                    stale.add(postId);
+                }
+            }
+            stale.forEach(this::removeLocked);
+            return stale.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result search(List<String> queryTerms, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0 || queryTerms.isEmpty()) {
+                return new Result(List.of(), 0);
+            }
+            double averageLength = (double) totalLength / documentCount;
+            Map<String, Double> scores = new HashMap<>();
+            for (String term : new HashSet<>(queryTerms)) {
+                Map<String, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                for (Map.Entry<String, Integer> match : matches.entrySet()) {
+                    int frequency = match.getValue();
+                    int length = documents.get(match.getKey()).length;
+                    double norm = frequency + K1 * (1 - B + B * length / averageLength);
+                    scores.merge(match.getKey(), idf * frequency * (K1 + 1) / norm, Double::sum);
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(scores.size());
+            scores.forEach((postId, score) -> ranked.add(new Hit(postId, score)));
+            ranked.sort(Comparator.comparingDouble(Hit::getScore).reversed().thenComparing(Hit::getPostId));
+            int from = Math.min(offset, ranked.size());
+            int to = Math.min(from + limit, ranked.size());
+            return new Result(new ArrayList<>(ranked.subList(from, to)), ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Serialises every document with its term frequencies; postings are rebuilt on load.
+     */
+    public byte[] toSnapshot(long indexedAtMillis) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(indexedAtMillis);
+            out.writeInt(documents.size());
+            for (Map.Entry<String, Document> document : documents.entrySet()) {
+                writeString(out, document.getKey());
+                out.writeInt(document.getValue().termFrequencies.size());
+                for (Map.Entry<String, Integer> term : document.getValue().termFrequencies.entrySet()) {
+                    writeString(out, term.getKey());
+                    out.writeInt(term.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Replaces the index contents with a snapshot and returns the time it was taken.
+     * The snapshot is read in full before anything is replaced, so a corrupt one
+     * throws {@link IllegalArgumentException} and leaves the index as it was.
+     */
+    public long loadSnapshot(ByteBuffer buffer) {
+        if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("Unrecognised search index snapshot");
+        }
+        long indexedAtMillis = buffer.getLong();
+        // Every document and term takes at least two ints, which bounds the counts
+        int documentCount = readCount(buffer, 8);
+        Map<String, Document> loadedDocuments = new HashMap<>(documentCount * 2);
+        Map<String, Map<String, Integer>> loadedPostings = new HashMap<>();
+        long loadedLength = 0;
+        for (int i = 0; i < documentCount; i++) {
+            String postId = readString(buffer);
+            int termCount = readCount(buffer, 8);
+            Map<String, Integer> frequencies = new HashMap<>(termCount * 2);
+            for (int t = 0; t < termCount; t++) {
+                frequencies.put(readString(buffer), buffer.getInt());
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+                length += term.getValue();
+                loadedPostings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).put(postId, term.getValue());
+            }
+            loadedDocuments.put(postId, new Document(frequencies, length));
+            loadedLength += length;
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            documents.putAll(loadedDocuments);
+            postings.clear();
+            postings.putAll(loadedPostings);
+            totalLength = loadedLength;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return indexedAtMillis;
+    }
+
+    // Callers hold the write lock
+    private void removeLocked(String postId) {
+        Document previous = documents.remove(postId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length;
+        for (String term : previous.termFrequencies.keySet()) {
+            Map<String, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(postId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] encoded = new byte[readCount(buffer, 1)];
+        buffer.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    // A length prefix, checked against what is left so a corrupt one cannot size an allocation
+    private static int readCount(ByteBuffer buffer, int minBytesEach) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / minBytesEach) {
+            throw new IllegalArgumentException("Corrupt search index snapshot: length " + count
+                    + " with " + buffer.remaining() + " bytes left");
+        }
+        return count;
+    }
+}
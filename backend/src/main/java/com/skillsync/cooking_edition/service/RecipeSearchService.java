@@ -0,0 +1,203 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.dto.SearchResults;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text recipe search over title, description, ingredients and instructions.
+ * <p>
+ * The index lives in memory and is updated by the post write paths. It is
+ * snapshotted to a memory-mapped file whenever it has changed, so a restart loads the
+ * snapshot and only re-reads posts updated since it was taken.
+ */
+@Service
+public class RecipeSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeSearchService.class);
+
+    // Term frequency multipliers per field
+    private static final int TITLE_WEIGHT = 3;
+    private static final int INGREDIENT_WEIGHT = 2;
+    private static final int TEXT_WEIGHT = 1;
+
+    // Tolerates small clock differences between the snapshot and post timestamps
+    private static final long CATCH_UP_SLACK_SECONDS = 60;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Value("${search.index.path:data/recipe-search.idx}")
+    private String indexPath;
+
+    private final RecipeSearchIndex index = new RecipeSearchIndex();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        try {
+            Path snapshot = Paths.get(indexPath);
+            Long indexedAt = Files.exists(snapshot) ? loadSnapshot(snapshot) : null;
+            if (indexedAt != null) {
+                LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(indexedAt), ZoneId.systemDefault())
+                        .minusSeconds(CATCH_UP_SLACK_SECONDS);
+                int updated = reindex(since);
+                int removed = index.retainAll(postRepository.findAllIds());
+                logger.info("Loaded search index snapshot with {} posts; re-indexed {}, removed {}",
+                        index.size(), updated, removed);
+                dirty.set(updated > 0 || removed > 0);
+            } else {
+                int indexed = reindex(null);
+                logger.info("Built search index from {} posts", indexed);
+                dirty.set(true);
+            }
+            snapshotIfDirty();
+        } catch (Exception e) {
+            logger.error("Could not initialise search index: {}", e.getMessage(), e);
+        }
+    }
+
+    public void index(Post post) {
+        index.put(post.getId(), termFrequencies(post));
+        dirty.set(true);
+    }
+
+    public void remove(String postId) {
+        index.remove(postId);
+        dirty.set(true);
+    }
+
+    public SearchResults search(String query, int page, int size) {
+        List<String> terms = RecipeTextAnalyzer.analyze(query);
+        // A huge page number must not wrap around to a small or negative offset
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        RecipeSearchIndex.Result result = index.search(terms, offset, size);
+
+        List<String> ids = result.getHits().stream().map(RecipeSearchIndex.Hit::getPostId).toList();
+        Map<String, PostSummary> summaries = postRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        List<PostSummary> items = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            PostSummary summary = summaries.get(id);
+            if (summary != null) {
+                items.add(summary);
+            }
+        }
+
+        SearchResults results = new SearchResults();
+        results.setQuery(query);
+        results.setTotal(result.getTotal());
+        results.setPage(page);
+        results.setSize(size);
+        results.setItems(items);
+        return results;
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.snapshot-interval-ms:60000}")
+    public void snapshotIfDirty() {
+        if (dirty.compareAndSet(true, false)) {
+            try {
+                writeSnapshot();
+            } catch (IOException e) {
+                dirty.set(true);
+                logger.error("Could not write search index snapshot: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotIfDirty();
+    }
+
+    private int reindex(LocalDateTime updatedSince) {
+        AtomicInteger count = new AtomicInteger();
+        postRepository.forEachSearchable(updatedSince, post -> {
+            index.put(post.getId(), termFrequencies(post));
+            count.incrementAndGet();
+        });
+        return count.get();
+    }
+
+    // Null when the snapshot is corrupt or from another format or analyzer version, so
+    // the index is rebuilt from MongoDB
+    private Long loadSnapshot(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return index.loadSnapshot(buffer);
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring unusable search index snapshot {}: {}", snapshot, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        // Taken before serialising: posts changed after this are picked up on the next start
+        long indexedAt = System.currentTimeMillis();
+        byte[] bytes = index.toSnapshot(indexedAt);
+
+        Path target = Paths.get(indexPath).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes.length);
+            buffer.put(bytes);
+            buffer.force();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.debug("Wrote search index snapshot ({} bytes, {} posts)", bytes.length, index.size());
+    }
+
+    private static Map<String, Integer> termFrequencies(Post post) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, post.getTitle(), TITLE_WEIGHT);
+        addTerms(frequencies, post.getDescription(), TEXT_WEIGHT);
+        if (post.getIngredients() != null) {
+            for (String ingredient : post.getIngredients()) {
+                addTerms(frequencies, ingredient, INGREDIENT_WEIGHT);
+            }
+        }
+        if (post.getInstructions() != null) {
+            for (String instruction : post.getInstructions()) {
+                addTerms(frequencies, instruction, TEXT_WEIGHT);
+            }
+        }
+        return frequencies;
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String term : RecipeTextAnalyzer.analyze(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.skillsync.cooking_edition.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns recipe text into search terms: lower-cases, splits on anything that is not a
+ * letter or digit, drops stop words and reduces English inflections to a common stem
+ * so that "tomatoes", "chopped" and "baking" match "tomato", "chop" and "bake".
+ */
+public final class RecipeTextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "if", "in", "into",
+            "is", "it", "its", "of", "on", "or", "so", "that", "the", "then", "there", "these", "this",
+            "to", "until", "up", "was", "will", "with", "you", "your");
+
+    // Irregular forms common in recipes that suffix stripping gets wrong
+    private static final Map<String, String> IRREGULAR = Map.ofEntries(
+            Map.entry("leaves", "leaf"),
+            Map.entry("halves", "half"),
+            Map.entry("loaves", "loaf"),
+            Map.entry("knives", "knife"),
+            Map.entry("cloves", "clove"),
+            Map.entry("olives", "olive"),
+            Map.entry("chives", "chive"),
+            Map.entry("anchovies", "anchovy"),
+            Map.entry("cookies", "cookie"),
+            Map.entry("pies", "pie"),
+            Map.entry("fried", "fry"),
+            Map.entry("fries", "fry"),
+            Map.entry("dried", "dry"),
+            Map.entry("eggs", "egg"),
+            Map.entry("boiled", "boil"),
+            Map.entry("rice", "rice"),
+            Map.entry("cheese", "cheese"),
+            Map.entry("sauce", "sauce"),
+            Map.entry("mousse", "mousse"));
+
+    private RecipeTextAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(terms, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, String token) {
+        if (token.length() < 2 || STOP_WORDS.contains(token)) {
+            return;
+        }
+        terms.add(stem(token));
+    }
+
+    static String stem(String word) {
+        String irregular = IRREGULAR.get(word);
+        if (irregular != null) {
+            return irregular;
+        }
+        if (word.length() <= 3 || !Character.isLetter(word.charAt(word.length() - 1))) {
+            return word;
+        }
+        // Plural first, so "dumplings" goes through the same rules as "dumpling"
+        String singular = singular(word);
+        irregular = IRREGULAR.get(singular);
+        if (irregular != null) {
+            return irregular;
+        }
+        if (singular.endsWith("ing") && singular.length() > 5) {
+            return normalizeStem(singular.substring(0, singular.length() - 3)); // chopping -> chop, baking -> bake
+        }
+        if (singular.endsWith("ed") && singular.length() > 4) {
+            return normalizeStem(singular.substring(0, singular.length() - 2)); // minced -> mince
+        }
+        if (singular.endsWith("ly") && singular.length() > 4) {
+            return singular.substring(0, singular.length() - 2); // finely -> fine
+        }
+        return singular;
+    }
+
+    private static String singular(String word) {
+        if (word.endsWith("ies") && word.length() > 4) {
+            return word.substring(0, word.length() - 3) + "y"; // berries -> berry
+        }
+        if (word.endsWith("oes")) {
+            return word.substring(0, word.length() - 2); // tomatoes -> tomato
+        }
+        if (word.endsWith("sses") || word.endsWith("shes") || word.endsWith("ches") || word.endsWith("xes")) {
+            return word.substring(0, word.length() - 2); // dishes -> dish
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, word.length() - 1); // onions -> onion
+        }
+        return word;
+    }
+
+    // chopp -> chop, but keep ll/ss/ff (grill, toss, stuff); otherwise bak -> bake
+    private static String normalizeStem(String stem) {
+        int n = stem.length();
+        if (n > 2 && stem.charAt(n - 1) == stem.charAt(n - 2)) {
+            char c = stem.charAt(n - 1);
+            if (c != 'l' && c != 's' && c != 'f' && c != 'z') {
+                return stem.substring(0, n - 1);
+            }
+            return stem;
+        }
+        return restoreE(stem);
+    }
+
+    // bak -> bake, minc -> mince, slic -> slice: consonant-vowel-consonant endings
+    private static String restoreE(String stem) {
+        int n = stem.length();
+        if (n < 3) {
+            return stem;
+        }
+        char last = stem.charAt(n - 1);
+        char middle = stem.charAt(n - 2);
+        if (last == 'c' || last == 'v' || last == 'z') {
+            return stem + "e";
+        }
+        if (!isVowel(last) && isVowel(middle) && !isVowel(stem.charAt(n - 3))
+                && last != 'w' && last != 'x' && last != 'y' && n <= 4) {
+            return stem + "e";
+        }
+        return stem;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -0,0 +1,234 @@
+package com.skillsync.cooking_edition.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Delivery side of the server-sent event streams, shared by notification and chat
+ * streams. Connections are grouped by a key such as a user or a room id.
+ * <p>
+ * Each connection has a bounded outbound queue drained by a small sender pool, so a
+ * slow client never blocks whoever publishes; a client that falls further behind than
+ * its buffer is disconnected and resumes with Last-Event-ID. Event ids, replay and
+ * snapshots are left to the owning service.
+ */
+public class SseBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseBroadcaster.class);
+
+    private final String name;
+    private final int bufferSize;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final ExecutorService senders;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public SseBroadcaster(String name, int bufferSize, int senderThreads, Supplier<SseEmitter> emitterFactory) {
+        this.name = name;
+        this.bufferSize = bufferSize;
+        this.emitterFactory = emitterFactory;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A new connection for the key. It can be sent to right away but only receives
+     * broadcasts once {@link #register registered}, so the caller can queue a replay
+     * or snapshot first.
+     */
+    public Subscriber open(String key) {
+        SseEmitter emitter = emitterFactory.get();
+        Subscriber subscriber = new Subscriber(key, emitter, bufferSize);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        return subscriber;
+    }
+
+    public void register(Subscriber subscriber) {
+        if (!subscriber.closed) {
+            subscribers.computeIfAbsent(subscriber.key, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+    }
+
+    public void send(Subscriber subscriber, String id, String eventName, Object data) {
+        enqueue(subscriber, Outbound.event(id, eventName, data));
+    }
+
+    public void comment(Subscriber subscriber, String comment) {
+        enqueue(subscriber, Outbound.comment(comment));
+    }
+
+    /**
+     * Queues the event for every registered connection of the key.
+     */
+    public void broadcast(String key, String id, String eventName, Object data) {
+        Set<Subscriber> connected = subscribers.get(key);
+        if (connected != null) {
+            Outbound event = Outbound.event(id, eventName, data);
+            for (Subscriber subscriber : connected) {
+                enqueue(subscriber, event);
+            }
+        }
+    }
+
+    public boolean hasSubscribers(String key) {
+        return subscribers.containsKey(key);
+    }
+
+    // Keeps idle connections from being cut by proxies
+    public void heartbeat() {
+        Outbound ping = Outbound.comment("heartbeat");
+        for (Set<Subscriber> connected : subscribers.values()) {
+            for (Subscriber subscriber : connected) {
+                enqueue(subscriber, ping);
+            }
+        }
+    }
+
+    public int keyCount() {
+        return subscribers.size();
+    }
+
+    public int connectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(this::close));
+        senders.shutdown();
+    }
+
+    /**
+     * The numeric Last-Event-ID a client sent, or null when it is missing or unusable.
+     */
+    public static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Outbound event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.pending.offer(event)) {
+            logger.info("{} for {} fell {} events behind, disconnecting", name, subscriber.key, bufferSize);
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Outbound event;
+            while (!subscriber.closed && (event = subscriber.pending.poll()) != null) {
+                subscriber.emitter.send(event.toBuilder());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            close(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Pick up anything enqueued after the last poll but before the flag was cleared
+        if (!subscriber.closed && !subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        unregister(subscriber);
+        try {
+            subscriber.emitter.complete();
+        } catch (Exception e) {
+            // already completed
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.key, (id, connected) -> {
+            connected.remove(subscriber);
+            return connected.isEmpty() ? null : connected;
+        });
+    }
+
+    public static final class Subscriber {
+        private final String key;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Outbound> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(String key, SseEmitter emitter, int bufferSize) {
+            this.key = key;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        public SseEmitter getEmitter() {
+            return emitter;
+        }
+    }
+
+    // Builders are single-use, so the queue holds the parts and each send builds anew
+    private static final class Outbound {
+        final String id;
+        final String name;
+        final Object data;
+        final String comment;
+
+        private Outbound(String id, String name, Object data, String comment) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+            this.comment = comment;
+        }
+
+        static Outbound event(String id, String name, Object data) {
+            return new Outbound(id, name, data, null);
+        }
+
+        static Outbound comment(String comment) {
+            return new Outbound(null, null, null, comment);
+        }
+
+        SseEmitter.SseEventBuilder toBuilder() {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event();
+            if (comment != null) {
+                return builder.comment(comment);
+            }
+            if (id != null) {
+                builder.id(id);
+            }
+            return builder.name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.TimelineEntry;
+import com.skillsync.cooking_edition.model.User;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import com.skillsync.cooking_edition.repository.TimelineEntryRepository;
+import com.skillsync.cooking_edition.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Home timelines built from {@link User#getFollowing()}.
+ * <p>
+ * New posts are pushed into a timeline entry per follower when they are created
+ * (fan-out-on-write). Authors with more followers than the configured threshold are
+ * skipped at write time; their posts are merged in when the timeline is read
+ * (fan-out-on-read). A page therefore costs a fixed number of queries: the reader,
+ * their timeline entries, the high-fanout authors' posts and the entries' summaries.
+ */
+@Service
+public class TimelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
+
+    private static final Comparator<Item> NEWEST_FIRST = Comparator
+            .comparing((Item item) -> item.createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(item -> item.postId, Comparator.reverseOrder());
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    private PostCounterBuffer postCounterBuffer;
+
+    @Value("${timeline.fanout.max-followers:5000}")
+    private long maxFanoutFollowers;
+
+    private final Set<String> highFanoutAuthors = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void loadHighFanoutAuthors() {
+        try {
+            highFanoutAuthors.addAll(userRepository.findUserIdsWithMoreFollowersThan(maxFanoutFollowers));
+            logger.info("Loaded {} high-fanout authors for timeline reads", highFanoutAuthors.size());
+        } catch (Exception e) {
+            logger.error("Could not load high-fanout authors: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Pushes a new post into the author's own timeline and, unless the author has too
+     * many followers, into every follower's timeline with a single bulk insert.
+     */
+    public void onPostCreated(Post post) {
+        String authorId = post.getUserId();
+        List<String> readers = new ArrayList<>();
+        readers.add(authorId);
+
+        if (highFanoutAuthors.contains(authorId) || userRepository.countFollowers(authorId) > maxFanoutFollowers) {
+            highFanoutAuthors.add(authorId);
+            logger.info("Author {} exceeds {} followers, post {} will be merged on read",
+                    authorId, maxFanoutFollowers, post.getId());
+        } else {
+            for (User follower : userRepository.findFollowerIds(authorId)) {
+                if (!authorId.equals(follower.getId())) {
+                    readers.add(follower.getId());
+                }
+            }
+        }
+
+        List<TimelineEntry> entries = new ArrayList<>(readers.size());
+        for (String readerId : readers) {
+            TimelineEntry entry = new TimelineEntry();
+            entry.setUserId(readerId);
+            entry.setPostId(post.getId());
+            entry.setAuthorId(authorId);
+            entry.setCreatedAt(post.getCreatedAt());
+            entries.add(entry);
+        }
+        timelineEntryRepository.saveAll(entries);
+        logger.info("Fanned out post {} to {} timelines", post.getId(), entries.size());
+    }
+
+    public FeedPage<PostSummary> getTimeline(String userId, String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        User user = userRepository.findById(userId).orElse(null);
+        List<String> following = user != null && user.getFollowing() != null ? user.getFollowing() : List.of();
+
+        // Pushed entries, plus the posts of followed authors that are read on demand.
+        // Entries are only kept while their author is still followed, so an unfollow
+        // takes effect on the next read without deleting anything.
+        Set<String> authors = new HashSet<>(following);
+        authors.add(userId);
+        List<Item> candidates = new ArrayList<>();
+        for (TimelineEntry entry : timelineEntryRepository.findPage(userId, authors, after, limit + 1)) {
+            candidates.add(new Item(entry.getPostId(), entry.getCreatedAt(), null));
+        }
+        Set<String> pulledAuthors = new HashSet<>();
+        for (String authorId : following) {
+            if (highFanoutAuthors.contains(authorId)) {
+                pulledAuthors.add(authorId);
+            }
+        }
+        if (!pulledAuthors.isEmpty()) {
+            for (PostSummary summary : postRepository.findFeedSummariesByUserIds(pulledAuthors, after, limit + 1)) {
+                candidates.add(new Item(summary.getId(), summary.getCreatedAt(), summary));
+            }
+        }
+        candidates.sort(NEWEST_FIRST);
+
+        Map<String, Item> merged = new LinkedHashMap<>();
+        for (Item item : candidates) {
+            merged.putIfAbsent(item.postId, item);
+            if (merged.size() > limit) {
+                break;
+            }
+        }
+        List<Item> page = new ArrayList<>(merged.values());
+        boolean hasMore = page.size() > limit;
+        if (hasMore) {
+            page = page.subList(0, limit);
+        }
+
+        List<String> missing = page.stream().filter(item -> item.summary == null).map(item -> item.postId).toList();
+        Map<String, PostSummary> loaded = postRepository.findSummariesByIds(missing).stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        List<PostSummary> items = new ArrayList<>(page.size());
+        for (Item item : page) {
+            PostSummary summary = item.summary != null ? item.summary : loaded.get(item.postId);
+            if (summary != null) { // skip posts deleted since they were pushed
+                items.add(summary);
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Item last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(last.createdAt, last.postId).encode();
+        }
+        return new FeedPage<>(postCounterBuffer.overlay(items), nextCursor);
+    }
+
+    private static final class Item {
+        private final String postId;
+        private final LocalDateTime createdAt;
+        private final PostSummary summary; // already loaded for pulled posts
+
+        private Item(String postId, LocalDateTime createdAt, PostSummary summary) {
+            this.postId = postId;
+            this.createdAt = createdAt;
+            this.summary = summary;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.InteractionEvent;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a ranked "trending" list of recent posts in memory.
+ * <p>
+ * The score is log10(likes + 2 * comments) plus the post's creation time divided by
+ * a decay constant. Because age enters as a fixed offset per post, scores never need
+ * to be recomputed as time passes: a post only moves when it receives a like or a
+ * comment, and newer posts outrank older ones with the same engagement.
+ * <p>
+ * Every post inside the window is tracked; the best {@code capacity} of them are
+ * ranked and the rest wait in a second ordered set, so when a ranked post is deleted,
+ * ages out or drops in score, the best waiting post takes its place right away.
+ */
+@Service
+public class TrendingService implements InteractionEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final Comparator<Entry> RANK = Comparator
+            .comparingDouble((Entry e) -> e.score).reversed()
+            .thenComparing(e -> e.postId);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCounterBuffer postCounterBuffer;
+
+    @Value("${posts.trending.capacity:500}")
+    private int capacity;
+
+    @Value("${posts.trending.window-days:7}")
+    private int windowDays;
+
+    // Seconds of age that cost one order of magnitude of engagement
+    @Value("${posts.trending.decay-seconds:45000}")
+    private double decaySeconds;
+
+    // Counters for every post inside the window; the best `capacity` are ranked, the rest wait
+    private final Map<String, Entry> tracked = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(RANK);
+    private final ConcurrentSkipListSet<Entry> waiting = new ConcurrentSkipListSet<>(RANK);
+    // ConcurrentSkipListSet.size() walks the set, so the ranked size is kept here; guarded by the monitor
+    private int rankedCount;
+
+    @PostConstruct
+    public void rebuild() {
+        try {
+            List<Post> recent = postRepository.findCountersCreatedSince(windowStart());
+            synchronized (this) {
+                tracked.clear();
+                ranked.clear();
+                waiting.clear();
+                rankedCount = 0;
+                for (Post post : recent) {
+                    upsert(entry(post.getId(), epochSeconds(post.getCreatedAt()),
+                            post.getLikes(), post.getComments()));
+                }
+            }
+            logger.info("Trending index rebuilt from {} recent posts", recent.size());
+        } catch (Exception e) {
+            logger.error("Could not rebuild trending index: {}", e.getMessage(), e);
+        }
+    }
+
+    public synchronized void onPostCreated(Post post) {
+        upsert(entry(post.getId(), epochSeconds(post.getCreatedAt()), post.getLikes(), post.getComments()));
+    }
+
+    public synchronized void onPostDeleted(String postId) {
+        Entry removed = tracked.remove(postId);
+        if (removed != null) {
+            detach(removed);
+            rebalance();
+        }
+    }
+
+    public synchronized void onCountersChanged(String postId, int likesDelta, int commentsDelta) {
+        Entry current = tracked.get(postId);
+        if (current == null) {
+            return; // outside the trending window
+        }
+        upsert(entry(postId, current.createdAtSeconds,
+                Math.max(0, current.likes + likesDelta), Math.max(0, current.comments + commentsDelta)));
+    }
+
+    /**
+     * Applies a batch of likes and comments, collapsing repeated events on the same
+     * post so a viral post is re-ranked once per batch.
+     */
+    @Override
+    public void handle(List<InteractionEvent> events) {
+        Map<String, int[]> deltas = new HashMap<>();
+        for (InteractionEvent event : events) {
+            int[] delta = deltas.computeIfAbsent(event.getPostId(), id -> new int[2]);
+            switch (event.getType()) {
+                case LIKED -> delta[0]++;
+                case UNLIKED -> delta[0]--;
+                case COMMENTED -> delta[1]++;
+                case COMMENT_DELETED -> delta[1]--;
+            }
+        }
+        synchronized (this) {
+            deltas.forEach((postId, delta) -> onCountersChanged(postId, delta[0], delta[1]));
+        }
+    }
+
+    /**
+     * A page of trending posts. Costs one skip-list seek plus one MongoDB lookup for
+     * the page's summaries, independent of how many posts are tracked.
+     */
+    public FeedPage<PostSummary> getTrending(String cursor, int limit) {
+        NavigableSet<Entry> view = ranked;
+        Entry after = decodeCursor(cursor);
+        if (after != null) {
+            view = ranked.tailSet(after, false);
+        }
+
+        List<Entry> window = new ArrayList<>(limit + 1);
+        for (Entry entry : view) {
+            window.add(entry);
+            if (window.size() > limit) {
+                break;
+            }
+        }
+        boolean hasMore = window.size() > limit;
+        List<Entry> pageEntries = hasMore ? window.subList(0, limit) : window;
+
+        Map<String, PostSummary> summaries = postRepository.findSummariesByIds(
+                        pageEntries.stream().map(e -> e.postId).toList())
+                .stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        List<PostSummary> items = new ArrayList<>(pageEntries.size());
+        for (Entry entry : pageEntries) {
+            PostSummary summary = summaries.get(entry.postId);
+            if (summary != null) {
+                items.add(summary);
+            }
+        }
+        String nextCursor = hasMore ? encodeCursor(pageEntries.get(pageEntries.size() - 1)) : null;
+        return new FeedPage<>(postCounterBuffer.overlay(items), nextCursor);
+    }
+
+    /**
+     * Drops posts that have aged out of the trending window.
+     */
+    @Scheduled(fixedDelayString = "${posts.trending.prune-interval-ms:3600000}")
+    public synchronized void prune() {
+        long cutoff = epochSeconds(windowStart());
+        int before = tracked.size();
+        tracked.values().removeIf(entry -> {
+            if (entry.createdAtSeconds < cutoff) {
+                detach(entry);
+                return true;
+            }
+            return false;
+        });
+        rebalance();
+        if (tracked.size() != before) {
+            logger.info("Pruned {} posts from the trending window", before - tracked.size());
+        }
+    }
+
+    // Callers hold the monitor for this and the helpers below
+    private void upsert(Entry entry) {
+        Entry previous = tracked.put(entry.postId, entry);
+        if (previous != null) {
+            detach(previous);
+        }
+        waiting.add(entry);
+        rebalance();
+    }
+
+    private void detach(Entry entry) {
+        if (ranked.remove(entry)) {
+            rankedCount--;
+        } else {
+            waiting.remove(entry);
+        }
+    }
+
+    // Restores "ranked holds the best `capacity` tracked entries" after a single change
+    private void rebalance() {
+        while (rankedCount > capacity) {
+            waiting.add(ranked.pollLast());
+            rankedCount--;
+        }
+        while (rankedCount < capacity && !waiting.isEmpty()) {
+            ranked.add(waiting.pollFirst());
+            rankedCount++;
+        }
+        while (!waiting.isEmpty() && !ranked.isEmpty() && RANK.compare(waiting.first(), ranked.last()) < 0) {
+            Entry promoted = waiting.pollFirst();
+            waiting.add(ranked.pollLast());
+            ranked.add(promoted);
+        }
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minusDays(windowDays);
+    }
+
+    private static long epochSeconds(LocalDateTime time) {
+        return time == null ? 0 : time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private String encodeCursor(Entry entry) {
+        String raw = entry.score + "|" + entry.postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Entry decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Entry(raw.substring(separator + 1), 0, 0, 0, Double.parseDouble(raw.substring(0, separator)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private Entry entry(String postId, long createdAtSeconds, int likes, int comments) {
+        double score = Math.log10(Math.max(1, likes + 2 * comments)) + createdAtSeconds / decaySeconds;
+        return new Entry(postId, createdAtSeconds, likes, comments, score);
+    }
+
+    private static final class Entry {
+        private final String postId;
+        private final long createdAtSeconds;
+        private final int likes;
+        private final int comments;
+        private final double score;
+
+        private Entry(String postId, long createdAtSeconds, int likes, int comments, double score) {
+            this.postId = postId;
+            this.createdAtSeconds = createdAtSeconds;
+            this.likes = likes;
+            this.comments = comments;
+            this.score = score;
+        }
+    }
+}
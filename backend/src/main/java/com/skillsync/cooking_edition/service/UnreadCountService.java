@@ -0,0 +1,97 @@
+package com.skillsync.cooking_edition.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillsync.cooking_edition.dto.UserCount;
+import com.skillsync.cooking_edition.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counters kept in memory.
+ * <p>
+ * A counter is loaded with one indexed count the first time a user asks for it, then
+ * moved by the code paths that create, read or delete notifications. Changes for users
+ * without a loaded counter are skipped, since the next load sees them anyway. A
+ * periodic job recounts every loaded user in batched aggregations to repair drift from
+ * races and from bulk deletes that do not report per-user counts.
+ */
+@Service
+public class UnreadCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadCountService.class);
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private final Cache<String, AtomicLong> counts = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    public long getUnreadCount(String userId) {
+        return counts.get(userId, id -> new AtomicLong(notificationRepository.countByUserIdAndIsReadFalse(id))).get();
+    }
+
+    public void increment(String userId, long delta) {
+        AtomicLong count = counts.getIfPresent(userId);
+        if (count != null) {
+            count.addAndGet(delta);
+        }
+    }
+
+    public void decrement(String userId, long delta) {
+        AtomicLong count = counts.getIfPresent(userId);
+        if (count != null) {
+            count.accumulateAndGet(delta, (current, d) -> Math.max(0, current - d));
+        }
+    }
+
+    /**
+     * Drops the user's counter so the next read recounts, for changes whose effect on
+     * the unread total is not known.
+     */
+    public void invalidate(String userId) {
+        counts.invalidate(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.unread.reconcile-ms:300000}")
+    public void reconcile() {
+        List<String> userIds = new ArrayList<>(counts.asMap().keySet());
+        int corrected = 0;
+        try {
+            for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+                List<String> batch = userIds.subList(from, Math.min(userIds.size(), from + RECONCILE_BATCH_SIZE));
+                Map<String, Long> actual = new HashMap<>();
+                for (UserCount count : notificationRepository.countUnreadByUserIds(batch)) {
+                    actual.put(count.getUserId(), count.getCount());
+                }
+                for (String userId : batch) {
+                    AtomicLong count = counts.getIfPresent(userId);
+                    long expected = actual.getOrDefault(userId, 0L);
+                    if (count != null && count.getAndSet(expected) != expected) {
+                        corrected++;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Could not reconcile unread notification counts: {}", e.getMessage(), e);
+            return;
+        }
+        if (corrected > 0) {
+            logger.info("Corrected unread notification counts for {} of {} users", corrected, userIds.size());
+        }
+    }
+}
@@ -17,12 +17,17 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ConditionalGetService conditionalGetService;
+
     public boolean existsById(String id) {
         return userRepository.existsById(id);
     }
 
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        conditionalGetService.forget(ConditionalGetService.userKey(saved.getId()));
+        return saved;
     }
 
     public User getUserById(String id) {
@@ -51,7 +56,7 @@ public class UserService {
         }
         
         try {
-            return userRepository.save(existingUser);
+            return save(existingUser);
         } catch (Exception e) {
             logger.error("Error saving updated user: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to save user profile: " + e.getMessage());
@@ -0,0 +1,53 @@
+package com.skillsync.cooking_edition.controller;
+
+import com.skillsync.cooking_edition.service.InteractionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikeControllerTest {
+
+    private final InteractionService interactionService = mock(InteractionService.class);
+    private final LikeController controller = new LikeController();
+    private final OAuth2User principal = new DefaultOAuth2User(List.of(), Map.of("sub", "u1"), "sub");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(controller, "interactionService", interactionService);
+    }
+
+    @Test
+    void batchCheckReturnsTheLikedSubset() {
+        when(interactionService.findLikedPostIds("u1", List.of("a", "b", "c"))).thenReturn(Set.of("b"));
+
+        ResponseEntity<Map<String, Object>> response = controller.checkLikeStatuses(List.of("a", "b", "c"), principal);
+
+        assertThat(response.getBody()).containsEntry("liked", Set.of("b"));
+    }
+
+    @Test
+    void batchCheckRejectsTooManyIds() {
+        ResponseEntity<Map<String, Object>> response =
+                controller.checkLikeStatuses(Collections.nCopies(101, "p"), principal);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(interactionService, never()).findLikedPostIds(anyString(), any());
+    }
+}
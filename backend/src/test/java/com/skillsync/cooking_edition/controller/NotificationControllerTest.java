@@ -0,0 +1,75 @@
+package com.skillsync.cooking_edition.controller;
+
+import com.skillsync.cooking_edition.service.InteractionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class NotificationControllerTest {
+
+    private final InteractionService interactionService = mock(InteractionService.class);
+    private final NotificationController controller = new NotificationController();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(controller, "interactionService", interactionService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void unreadCountIsServedOnTheNavbarPath() throws Exception {
+        signIn("u1");
+        when(interactionService.getUnreadCount("u1")).thenReturn(7L);
+
+        mockMvc.perform(get("/api/notifications/unread-count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(7));
+    }
+
+    @Test
+    void unreadCountIsAlsoServedOnTheNestedPath() throws Exception {
+        signIn("u1");
+        when(interactionService.getUnreadCount("u1")).thenReturn(2L);
+
+        mockMvc.perform(get("/api/notifications/unread/count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+    }
+
+    @Test
+    void unreadCountNeedsASignedInUser() throws Exception {
+        mockMvc.perform(get("/api/notifications/unread-count"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static void signIn(String userId) {
+        OAuth2User user = new DefaultOAuth2User(List.of(), Map.of("sub", userId), "sub");
+        SecurityContextHolder.getContext().setAuthentication(
+                new OAuth2AuthenticationToken(user, List.of(), "google"));
+    }
+}
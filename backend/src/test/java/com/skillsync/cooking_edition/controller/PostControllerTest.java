@@ -0,0 +1,138 @@
+package com.skillsync.cooking_edition.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import com.skillsync.cooking_edition.service.CategoryCatalogService;
+import com.skillsync.cooking_edition.service.ConditionalGetService;
+import com.skillsync.cooking_edition.service.IngredientMatcherService;
+import com.skillsync.cooking_edition.service.PostCacheService;
+import com.skillsync.cooking_edition.service.PostCounterBuffer;
+import com.skillsync.cooking_edition.service.RecipeSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostControllerTest {
+
+    private final PostCacheService postCacheService = mock(PostCacheService.class);
+    private final PostCounterBuffer postCounterBuffer = mock(PostCounterBuffer.class);
+    private final ConditionalGetService conditionalGetService = new ConditionalGetService();
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostController controller = new PostController();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(conditionalGetService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(conditionalGetService, "maxEntries", 100L);
+        conditionalGetService.init();
+        ReflectionTestUtils.setField(controller, "postCacheService", postCacheService);
+        ReflectionTestUtils.setField(controller, "postCounterBuffer", postCounterBuffer);
+        ReflectionTestUtils.setField(controller, "conditionalGetService", conditionalGetService);
+        ReflectionTestUtils.setField(controller, "postRepository", postRepository);
+        ReflectionTestUtils.setField(controller, "categoryCatalogService", mock(CategoryCatalogService.class));
+        ReflectionTestUtils.setField(controller, "recipeSearchService", mock(RecipeSearchService.class));
+        ReflectionTestUtils.setField(controller, "ingredientMatcherService", mock(IngredientMatcherService.class));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void unchangedPostIsAnswered304FromTheRememberedEtag() {
+        Post post = post(3);
+        when(postCacheService.getPost("p1")).thenReturn(post);
+        when(postCacheService.isCurrent(post)).thenReturn(true);
+        when(postCounterBuffer.overlay(post)).thenReturn(post);
+
+        ResponseEntity<Post> first = controller.viewPost("p1", null);
+        ResponseEntity<Post> second = controller.viewPost("p1", first.getHeaders().getETag());
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag());
+    }
+
+    @Test
+    void bodyWithCountersCarriesNoLastModified() {
+        Post post = post(3);
+        when(postCacheService.getPost("p1")).thenReturn(post);
+        when(postCounterBuffer.overlay(post)).thenReturn(post);
+
+        ResponseEntity<Post> response = controller.viewPost("p1", null);
+
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(-1);
+    }
+
+    @Test
+    void bufferedCountersChangeTheEtagAndAreNotRemembered() {
+        Post flushed = post(3);
+        Post overlaid = post(5);
+        when(postCacheService.getPost("p1")).thenReturn(flushed);
+        when(postCacheService.isCurrent(flushed)).thenReturn(true);
+        when(postCounterBuffer.overlay(flushed)).thenReturn(overlaid);
+
+        ResponseEntity<Post> response = controller.viewPost("p1", null);
+
+        assertThat(response.getBody().getLikes()).isEqualTo(5);
+        assertThat(response.getHeaders().getETag()).isEqualTo(conditionalGetService.etagOf(overlaid));
+        assertThat(conditionalGetService.knownEtag(ConditionalGetService.postKey("p1"))).isNull();
+    }
+
+    @Test
+    void missingPostIs404() {
+        ResponseEntity<Post> response = controller.viewPost("nope", null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        verify(postCounterBuffer, never()).overlay(any(Post.class));
+    }
+
+    @Test
+    void updateWritesEditableFieldsWithoutSavingCounters() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(
+                new DefaultOAuth2User(List.of(), Map.of("sub", "u1"), "sub"), null));
+        Post stored = post(3);
+        stored.setUserId("u1");
+        Post updated = post(7);
+        when(postRepository.findById("p1")).thenReturn(Optional.of(stored));
+        when(postRepository.updateContent(any(Post.class))).thenReturn(updated);
+
+        ResponseEntity<?> response = controller.updatePost("p1", "New title", "New description",
+                null, null, null, null, null, null, null, null, "Dinner");
+
+        assertThat(response.getBody()).isSameAs(updated);
+        verify(postRepository).updateContent(argThat(post -> "New title".equals(post.getTitle())));
+        verify(postRepository, never()).save(any(Post.class));
+        verify(postCacheService).onPostSaved(updated);
+    }
+
+    private static Post post(int likes) {
+        Post post = new Post();
+        post.setId("p1");
+        post.setTitle("Ramen");
+        post.setLikes(likes);
+        post.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return post;
+    }
+}
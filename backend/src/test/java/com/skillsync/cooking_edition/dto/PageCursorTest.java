@@ -0,0 +1,47 @@
+package com.skillsync.cooking_edition.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+        PageCursor decoded = PageCursor.decode(new PageCursor(createdAt, "65f1c0ffee").encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo("65f1c0ffee");
+    }
+
+    @Test
+    void encodedTokenIsUrlSafe() {
+        String token = new PageCursor(LocalDateTime.of(2024, 1, 1, 0, 0), "a/b+c").encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void blankTokenMeansNoCursor() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("")).isNull();
+        assertThat(PageCursor.decode("   ")).isNull();
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2024-01-01T00:00".getBytes());
+        String badDate = Base64.getUrlEncoder().encodeToString("yesterday|abc".getBytes());
+        String noId = Base64.getUrlEncoder().encodeToString("2024-01-01T00:00|".getBytes());
+
+        assertThatThrownBy(() -> PageCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(noSeparator)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(badDate)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(noId)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.skillsync.cooking_edition.dto;
+
+import com.skillsync.cooking_edition.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSummaryTest {
+
+    @Test
+    void fromCopiesCardFieldsAndUsesFirstMediaAsThumbnail() {
+        Post post = new Post();
+        post.setId("p1");
+        post.setTitle("Ramen");
+        post.setDescription("Rich broth");
+        post.setMediaUrls(List.of("/uploads/a.jpg", "/uploads/b.jpg"));
+        post.setUserId("u1");
+        post.setCategory("Japanese");
+        post.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4));
+        post.setLikes(7);
+        post.setComments(2);
+
+        PostSummary summary = PostSummary.from(post);
+
+        assertThat(summary.getId()).isEqualTo("p1");
+        assertThat(summary.getTitle()).isEqualTo("Ramen");
+        assertThat(summary.getThumbnailUrl()).isEqualTo("/uploads/a.jpg");
+        assertThat(summary.getCategory()).isEqualTo("Japanese");
+        assertThat(summary.getCreatedAt()).isEqualTo(post.getCreatedAt());
+        assertThat(summary.getLikes()).isEqualTo(7);
+        assertThat(summary.getComments()).isEqualTo(2);
+    }
+
+    @Test
+    void postWithoutMediaHasNoThumbnail() {
+        Post post = new Post();
+        post.setId("p1");
+
+        assertThat(PostSummary.from(post).getThumbnailUrl()).isNull();
+    }
+
+    @Test
+    void counterDeltaCopiesAndNeverGoesNegative() {
+        PostSummary summary = new PostSummary();
+        summary.setId("p1");
+        summary.setTitle("Ramen");
+        summary.setLikes(1);
+        summary.setComments(null);
+
+        PostSummary shifted = summary.withCounterDelta(-3, 2);
+
+        assertThat(shifted).isNotSameAs(summary);
+        assertThat(shifted.getTitle()).isEqualTo("Ramen");
+        assertThat(shifted.getLikes()).isZero();
+        assertThat(shifted.getComments()).isEqualTo(2);
+        assertThat(summary.getLikes()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.mongodb.client.result.DeleteResult;
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.Comment;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentRepositoryCustomImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final CommentRepositoryCustomImpl repository = new CommentRepositoryCustomImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    void pageSeeksPastTheCursorOldestFirst() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+        repository.findPage("p1", new PageCursor(createdAt, "c9"), 11);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Comment.class));
+        Document criteria = query.getValue().getQueryObject();
+        assertThat(criteria.getString("postId")).isEqualTo("p1");
+        assertThat(criteria.getList("$or", Object.class)).containsExactly(
+                new Document("createdAt", new Document("$gt", createdAt)),
+                new Document("createdAt", createdAt).append("id", new Document("$gt", "c9")));
+        assertThat(query.getValue().getSortObject()).isEqualTo(new Document("createdAt", 1).append("id", 1));
+        assertThat(query.getValue().getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    void firstPageHasNoCursorCondition() {
+        when(mongoTemplate.find(any(Query.class), eq(Comment.class))).thenReturn(List.of());
+
+        repository.findPage("p1", null, 21);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Comment.class));
+        assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("postId", "p1"));
+    }
+
+    @Test
+    void removeIfPresentReportsWhetherThisCallDeleted() {
+        when(mongoTemplate.remove(any(Query.class), eq(Comment.class)))
+                .thenReturn(DeleteResult.acknowledged(1), DeleteResult.acknowledged(0));
+
+        assertThat(repository.removeIfPresent("c1")).isTrue();
+        assertThat(repository.removeIfPresent("c1")).isFalse();
+    }
+}
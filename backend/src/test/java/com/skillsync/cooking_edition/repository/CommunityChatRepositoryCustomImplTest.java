@@ -0,0 +1,74 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.CommunityChatMessage;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class CommunityChatRepositoryCustomImplTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final CommunityChatRepositoryCustomImpl repository = new CommunityChatRepositoryCustomImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    void beforeSeeksBackFromTheCursorNewestFirst() {
+        repository.findBefore("cuisine:italian", new PageCursor(CREATED_AT, "m9"), 51);
+
+        Query query = capturedQuery();
+        Document criteria = query.getQueryObject();
+        assertThat(criteria.getString("roomId")).isEqualTo("cuisine:italian");
+        assertThat(criteria.getList("$or", Object.class)).containsExactly(
+                new Document("createdAt", new Document("$lt", CREATED_AT)),
+                new Document("createdAt", CREATED_AT).append("id", new Document("$lt", "m9")));
+        assertThat(query.getSortObject()).isEqualTo(new Document("createdAt", -1).append("id", -1));
+        assertThat(query.getLimit()).isEqualTo(51);
+    }
+
+    @Test
+    void beforeWithoutCursorStartsAtTheNewestMessage() {
+        repository.findBefore("global", null, 51);
+
+        Query query = capturedQuery();
+        assertThat(query.getQueryObject()).isEqualTo(new Document("roomId", "global"));
+        assertThat(query.getSortObject()).isEqualTo(new Document("createdAt", -1).append("id", -1));
+    }
+
+    @Test
+    void sinceSeeksForwardFromTheCursorOldestFirst() {
+        repository.findSince("global", new PageCursor(CREATED_AT, "m9"), 51);
+
+        Query query = capturedQuery();
+        Document criteria = query.getQueryObject();
+        assertThat(criteria.getString("roomId")).isEqualTo("global");
+        assertThat(criteria.getList("$or", Object.class)).containsExactly(
+                new Document("createdAt", new Document("$gt", CREATED_AT)),
+                new Document("createdAt", CREATED_AT).append("id", new Document("$gt", "m9")));
+        assertThat(query.getSortObject()).isEqualTo(new Document("createdAt", 1).append("id", 1));
+        assertThat(query.getLimit()).isEqualTo(51);
+    }
+
+    private Query capturedQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(CommunityChatMessage.class));
+        return query.getValue();
+    }
+}
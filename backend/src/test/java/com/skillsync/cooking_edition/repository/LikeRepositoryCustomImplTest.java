@@ -0,0 +1,74 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.skillsync.cooking_edition.model.Like;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikeRepositoryCustomImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final LikeRepositoryCustomImpl repository = new LikeRepositoryCustomImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    void addIfAbsentUpsertsByKeyAndReportsTheInsert() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Like.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonObjectId(new ObjectId())));
+
+        assertThat(repository.addIfAbsent("p1", "u1")).isTrue();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(Like.class));
+        assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("postId", "p1").append("userId", "u1"));
+        assertThat(update.getValue().getUpdateObject())
+                .isEqualTo(new Document("$setOnInsert", new Document("postId", "p1").append("userId", "u1")));
+    }
+
+    @Test
+    void addIfAbsentIsFalseWhenTheLikeAlreadyExists() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Like.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+        assertThat(repository.addIfAbsent("p1", "u1")).isFalse();
+    }
+
+    @Test
+    void addIfAbsentIsFalseWhenAConcurrentUpsertWins() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Like.class)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+
+        assertThat(repository.addIfAbsent("p1", "u1")).isFalse();
+    }
+
+    @Test
+    void removeIfPresentReportsWhetherALikeWasDeleted() {
+        when(mongoTemplate.remove(any(Query.class), eq(Like.class)))
+                .thenReturn(DeleteResult.acknowledged(1), DeleteResult.acknowledged(0));
+
+        assertThat(repository.removeIfPresent("p1", "u1")).isTrue();
+        assertThat(repository.removeIfPresent("p1", "u1")).isFalse();
+    }
+}
@@ -0,0 +1,220 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.mongodb.client.result.DeleteResult;
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.Notification;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationRepositoryCustomImplTest {
+
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+    private final MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    private final NotificationRepositoryCustomImpl repository = new NotificationRepositoryCustomImpl();
+
+    @BeforeEach
+    void setUp() {
+        // Wired as Spring Boot does, so java.time values are simple types
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollectionName(Notification.class)).thenReturn("notifications");
+    }
+
+    @Test
+    void joiningFoldsActorsCountAndMessageIntoOneUpdate() {
+        stored(new Document("_id", "n1").append("userId", "owner").append("count", 2));
+
+        Notification saved = repository.coalesce(latest(), List.of(
+                new Notification.Actor("a", "Ana"), new Notification.Actor("b", "Ben"), new Notification.Actor("a", "Ana")),
+                WINDOW_START, 5, 1000);
+
+        assertThat(saved.getId()).isEqualTo("n1");
+        assertThat(saved.getCount()).isEqualTo(2);
+        assertThat(saved.isInserted()).isFalse();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(),
+                eq(Document.class), eq("notifications"));
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("userId", "owner").containsEntry("relatedPostId", "p1")
+                .containsEntry("type", "LIKE").containsEntry("open", true).containsEntry("isRead", false)
+                .containsEntry("count", new Document("$lt", 1000));
+        assertThat(query.getValue().getFieldsObject()).containsEntry("actorIds", 0);
+        assertThat(options.getValue().isUpsert()).isFalse();
+        assertThat(options.getValue().isReturnNew()).isTrue();
+        verify(mongoTemplate, never()).insert(any(Document.class), anyString());
+
+        List<Document> stages = pipeline(update.getValue());
+        assertThat(stages).hasSize(1);
+        Document set = stages.get(0).get("$set", Document.class);
+        Document union = set.get("actorIds", Document.class);
+        // Repeated actors are sent once, in order of their latest event
+        assertThat(union.getList("$setUnion", Object.class).get(1)).isEqualTo(new Document("$literal", List.of("b", "a")));
+        assertThat(set.get("count")).isEqualTo(new Document("$size", union));
+        assertThat(set.get("message", Document.class).get("$let", Document.class).get("vars"))
+                .isEqualTo(new Document("count", new Document("$size", union)));
+        assertThat(set.get("senderName")).isEqualTo(new Document("$literal", "Ben"));
+        assertThat(set).doesNotContainKey("inserted");
+    }
+
+    @Test
+    void withNoOpenNotificationOneIsInsertedWithoutAStoredFlag() {
+        when(mongoTemplate.insert(any(Document.class), eq("notifications")))
+                .thenAnswer(invocation -> invocation.<Document>getArgument(0).append("_id", "n5"));
+
+        Notification saved = repository.coalesce(latest(), List.of(
+                new Notification.Actor("a", "Ana"), new Notification.Actor("b", "Ben")), WINDOW_START, 1, 1000);
+
+        assertThat(saved.getId()).isEqualTo("n5");
+        assertThat(saved.isInserted()).isTrue();
+        assertThat(saved.getCount()).isEqualTo(2);
+        assertThat(saved.getMessage()).isEqualTo("Ben and 1 other liked your post");
+        assertThat(saved.getRecentActors()).extracting(Notification.Actor::getId).containsExactly("b");
+        ArgumentCaptor<Document> inserted = ArgumentCaptor.forClass(Document.class);
+        verify(mongoTemplate).insert(inserted.capture(), eq("notifications"));
+        assertThat(inserted.getValue())
+                .containsEntry("open", true)
+                .containsEntry("actorIds", List.of("a", "b"))
+                .containsEntry("firstActivityAt", inserted.getValue().get("createdAt"))
+                .doesNotContainKey("inserted");
+    }
+
+    @Test
+    void duplicateKeyClosesStaleOpenNotificationsAndJoins() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq("notifications")))
+                .thenReturn(null)
+                .thenReturn(new Document("_id", "n2").append("count", 2));
+        when(mongoTemplate.insert(any(Document.class), eq("notifications"))).thenThrow(new DuplicateKeyException("E11000"));
+
+        Notification saved = repository.coalesce(latest(), List.of(new Notification.Actor("b", "Ben")), WINDOW_START, 5, 1000);
+
+        assertThat(saved.getId()).isEqualTo("n2");
+        assertThat(saved.isInserted()).isFalse();
+        ArgumentCaptor<Query> stale = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> close = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).updateMulti(stale.capture(), close.capture(), eq(Notification.class));
+        assertThat(stale.getValue().getQueryObject()).containsEntry("open", true);
+        // Read, out of the window, or full
+        assertThat(stale.getValue().getQueryObject().getList("$or", Object.class)).hasSize(3)
+                .contains(new Document("count", new Document("$gte", 1000)));
+        assertThat(close.getValue().getUpdateObject()).isEqualTo(new Document("$unset", new Document("open", 1)));
+    }
+
+    @Test
+    void afterClosingStaleOnesANewNotificationIsOpened() {
+        when(mongoTemplate.insert(any(Document.class), eq("notifications")))
+                .thenThrow(new DuplicateKeyException("E11000"))
+                .thenAnswer(invocation -> invocation.<Document>getArgument(0).append("_id", "n3"));
+
+        Notification saved = repository.coalesce(latest(), List.of(new Notification.Actor("b", "Ben")), WINDOW_START, 5, 1000);
+
+        assertThat(saved.getId()).isEqualTo("n3");
+        assertThat(saved.isInserted()).isTrue();
+        verify(mongoTemplate, times(2)).insert(any(Document.class), eq("notifications"));
+    }
+
+    @Test
+    void trimFindsTheFirstNotificationPastTheCapAndDeletesFromThere() {
+        LocalDateTime boundaryTime = LocalDateTime.of(2024, 1, 5, 8, 0);
+        Notification boundary = new Notification();
+        boundary.setId("n9");
+        boundary.setCreatedAt(boundaryTime);
+        when(mongoTemplate.findOne(any(Query.class), eq(Notification.class))).thenReturn(boundary);
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class))).thenReturn(DeleteResult.acknowledged(3));
+
+        assertThat(repository.trimToNewest("u1", 500)).isEqualTo(3);
+
+        ArgumentCaptor<Query> lookup = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(lookup.capture(), eq(Notification.class));
+        assertThat(lookup.getValue().getSkip()).isEqualTo(500);
+        assertThat(lookup.getValue().getLimit()).isEqualTo(1);
+        assertThat(lookup.getValue().getSortObject()).isEqualTo(new Document("createdAt", -1).append("id", -1));
+        ArgumentCaptor<Query> delete = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(delete.capture(), eq(Notification.class));
+        assertThat(delete.getValue().getQueryObject().getList("$or", Object.class)).containsExactly(
+                new Document("createdAt", new Document("$lt", boundaryTime)),
+                new Document("createdAt", boundaryTime).append("id", new Document("$lte", "n9")));
+    }
+
+    @Test
+    void trimUnderTheCapDeletesNothing() {
+        assertThat(repository.trimToNewest("u1", 500)).isZero();
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(Notification.class));
+    }
+
+    @Test
+    void pageContinuesStrictlyAfterTheCursorNewestFirst() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 5, 8, 0);
+
+        repository.findPage("u1", new PageCursor(createdAt, "n3"), 21);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Notification.class));
+        assertThat(query.getValue().getQueryObject().getList("$or", Object.class)).containsExactly(
+                new Document("createdAt", new Document("$lt", createdAt)),
+                new Document("createdAt", createdAt).append("id", new Document("$lt", "n3")));
+        assertThat(query.getValue().getLimit()).isEqualTo(21);
+    }
+
+    private void stored(Document document) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq("notifications"))).thenReturn(document);
+    }
+
+    private List<Document> pipeline(UpdateDefinition update) {
+        TypeBasedAggregationOperationContext context = new TypeBasedAggregationOperationContext(
+                Notification.class, mappingContext, new QueryMapper(converter));
+        return ((AggregationUpdate) update).toPipeline(context);
+    }
+
+    private static Notification latest() {
+        Notification notification = new Notification();
+        notification.setUserId("owner");
+        notification.setRelatedPostId("p1");
+        notification.setType(Notification.NotificationType.LIKE);
+        notification.setSenderId("b");
+        notification.setSenderName("Ben");
+        notification.setMessage("Ben liked your post");
+        notification.setCreatedAt(LocalDateTime.of(2024, 1, 2, 10, 0));
+        return notification;
+    }
+}
@@ -0,0 +1,104 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.Post;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostRepositoryCustomImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final PostRepositoryCustomImpl repository = new PostRepositoryCustomImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    void afterCursorSelectsStrictlyOlderPostsWithIdTieBreak() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+        Document criteria = PostRepositoryCustomImpl.afterCursor(new PageCursor(createdAt, "p7")).getCriteriaObject();
+
+        List<Object> or = criteria.getList("$or", Object.class);
+        assertThat(or).containsExactly(
+                new Document("createdAt", new Document("$lt", createdAt)),
+                new Document("createdAt", createdAt).append("id", new Document("$lt", "p7")));
+    }
+
+    @Test
+    void feedSummariesProjectCardFieldsOnly() {
+        Post post = new Post();
+        post.setId("p1");
+        when(mongoTemplate.find(any(Query.class), eq(Post.class))).thenReturn(List.of(post));
+
+        assertThat(repository.findFeedSummaries(null, 21)).extracting("id").containsExactly("p1");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Post.class));
+        Document fields = query.getValue().getFieldsObject();
+        assertThat(fields).containsKeys("title", "description", "userId", "createdAt", "likes", "comments");
+        assertThat(fields).doesNotContainKeys("content", "ingredients", "amounts", "instructions");
+        assertThat(fields.get("mediaUrls")).isEqualTo(new Document("$slice", 1));
+        assertThat(query.getValue().getLimit()).isEqualTo(21);
+        assertThat(query.getValue().getSortObject()).isEqualTo(new Document("createdAt", -1).append("id", -1));
+    }
+
+    @Test
+    void incrementCountersOnlyIncsTheNonZeroDeltas() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Post.class)))
+                .thenReturn(new Post());
+
+        repository.incrementCounters("p1", 1, 0);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(Post.class));
+        assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("id", "p1"));
+        assertThat(update.getValue().getUpdateObject()).isEqualTo(new Document("$inc", new Document("likes", 1)));
+        assertThat(options.getValue().isReturnNew()).isTrue();
+    }
+
+    @Test
+    void updateContentSetsEditableFieldsAndNeverTouchesCounters() {
+        Post edited = new Post();
+        edited.setId("p1");
+        edited.setTitle("Dumplings");
+        edited.setCategory("Dinner");
+        edited.setLikes(0);
+        edited.setComments(0);
+        Post stored = new Post();
+        stored.setLikes(42);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Post.class)))
+                .thenReturn(stored);
+
+        assertThat(repository.updateContent(edited)).isSameAs(stored);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Post.class));
+        Document updateObject = update.getValue().getUpdateObject();
+        assertThat(updateObject).containsOnlyKeys("$set");
+        Document set = updateObject.get("$set", Document.class);
+        assertThat(set).containsEntry("title", "Dumplings").containsEntry("category", "Dinner");
+        assertThat(set).doesNotContainKeys("likes", "comments", "userId", "createdAt");
+    }
+}
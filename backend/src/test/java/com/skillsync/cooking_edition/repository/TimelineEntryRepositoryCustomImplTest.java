@@ -0,0 +1,40 @@
+package com.skillsync.cooking_edition.repository;
+
+import com.skillsync.cooking_edition.model.TimelineEntry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TimelineEntryRepositoryCustomImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final TimelineEntryRepositoryCustomImpl repository = new TimelineEntryRepositoryCustomImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    void pageOnlyIncludesEntriesByTheGivenAuthors() {
+        repository.findPage("reader", List.of("reader", "friend"), null, 21);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(TimelineEntry.class));
+        assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("userId", "reader")
+                .append("authorId", new Document("$in", List.of("reader", "friend"))));
+        assertThat(query.getValue().getSortObject()).isEqualTo(new Document("createdAt", -1).append("postId", -1));
+        assertThat(query.getValue().getLimit()).isEqualTo(21);
+    }
+}
@@ -0,0 +1,51 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.model.CommunityChatMessage;
+import com.skillsync.cooking_edition.model.Notification;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Records each event as its SSE text, with notifications and chat messages rendered as [id]
+class CapturingEmitter extends SseEmitter {
+
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void send(SseEventBuilder builder) {
+        Set<ResponseBodyEmitter.DataWithMediaType> parts = builder.build();
+        StringBuilder text = new StringBuilder();
+        for (ResponseBodyEmitter.DataWithMediaType part : parts) {
+            text.append(render(part.getData()));
+        }
+        events.add(text.toString());
+    }
+
+    void await(Predicate<List<String>> condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.test(events); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.test(events)).as("events %s", events).isTrue();
+    }
+
+    private static String render(Object data) {
+        if (data instanceof Notification notification) {
+            return "[" + notification.getId() + "]";
+        }
+        if (data instanceof CommunityChatMessage message) {
+            return "[" + message.getId() + "]";
+        }
+        if (data instanceof List<?> list) {
+            return list.stream().map(CapturingEmitter::render).collect(Collectors.joining(",", "{", "}"));
+        }
+        return String.valueOf(data);
+    }
+}
@@ -0,0 +1,69 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.CategoryCount;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategoryCatalogServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final CategoryCatalogService catalog = new CategoryCatalogService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(catalog, "postRepository", postRepository);
+        when(postRepository.countPostsByCategory()).thenReturn(List.of(
+                new CategoryCount("Italian", 2), new CategoryCount("Desserts", 1)));
+        catalog.rebuild();
+    }
+
+    @Test
+    void categoriesAreSortedByName() {
+        assertThat(catalog.getCategories()).containsExactly("Desserts", "Italian");
+    }
+
+    @Test
+    void writesKeepCountsCurrent() {
+        catalog.onPostCreated("Thai");
+        catalog.onPostCreated("Italian");
+        catalog.onPostUpdated("Desserts", "Thai");
+
+        assertThat(catalog.getCategoryCounts())
+                .extracting(CategoryCount::getName, CategoryCount::getCount)
+                .containsExactly(
+                        tuple("Italian", 3L),
+                        tuple("Thai", 2L));
+    }
+
+    @Test
+    void unchangedCategoryOnUpdateIsANoOp() {
+        catalog.onPostUpdated("Italian", "Italian");
+
+        assertThat(catalog.getCategoryCounts()).extracting(CategoryCount::getCount).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void categoryDisappearsWhenItsLastPostIsDeleted() {
+        catalog.onPostDeleted("Desserts");
+
+        assertThat(catalog.getCategories()).containsExactly("Italian");
+    }
+
+    @Test
+    void unknownOrBlankCategoriesAreIgnored() {
+        catalog.onPostDeleted("Unknown");
+        catalog.onPostCreated(null);
+        catalog.onPostCreated("");
+
+        assertThat(catalog.getCategories()).containsExactly("Desserts", "Italian");
+    }
+}
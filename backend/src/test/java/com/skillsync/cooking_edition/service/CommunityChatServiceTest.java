@@ -0,0 +1,261 @@
+package com.skillsync.cooking_edition.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.skillsync.cooking_edition.dto.ChatHistoryPage;
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.CommunityChatMessage;
+import com.skillsync.cooking_edition.repository.CommunityChatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommunityChatServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private final CommunityChatRepository chatRepository = mock(CommunityChatRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<CapturingEmitter> emitters = Collections.synchronizedList(new ArrayList<>());
+    private final CommunityChatService service = new CommunityChatService() {
+        @Override
+        SseEmitter createEmitter() {
+            CapturingEmitter emitter = new CapturingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "chatRepository", chatRepository);
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(service, "maxPageSize", 3);
+        ReflectionTestUtils.setField(service, "recentSize", 200);
+        ReflectionTestUtils.setField(service, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(service, "bufferSize", 64);
+        ReflectionTestUtils.setField(service, "replaySize", 10);
+        ReflectionTestUtils.setField(service, "senderThreads", 2);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(CommunityChatMessage.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(chatRepository.save(any(CommunityChatMessage.class))).thenAnswer(returnsFirstArg());
+        when(chatRepository.findByRoomIdOrderByCreatedAtDesc(anyString(), any(Pageable.class))).thenReturn(List.of());
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void scrollbackReturnsThePageOldestFirstWithCursorsOnBothEnds() {
+        // The repository hands back newest first, one row past the page
+        when(chatRepository.findBefore("global", null, 3)).thenReturn(messages(5, 4, 3));
+
+        ChatHistoryPage page = service.getMessagesBefore("global", null, null);
+
+        assertThat(ids(page)).containsExactly("m4", "m5");
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(PageCursor.decode(page.getBeforeCursor()).getId()).isEqualTo("m4");
+        assertThat(PageCursor.decode(page.getSinceCursor()).getId()).isEqualTo("m5");
+    }
+
+    @Test
+    void scrollbackReachingTheStartHasNoBeforeCursor() {
+        String cursor = cursor(4);
+        when(chatRepository.findBefore(eq("global"), any(PageCursor.class), eq(3))).thenReturn(messages(3, 2));
+
+        ChatHistoryPage page = service.getMessagesBefore("global", cursor, null);
+
+        assertThat(ids(page)).containsExactly("m2", "m3");
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getBeforeCursor()).isNull();
+    }
+
+    @Test
+    void emptyScrollbackKeepsTheCallersCursorForCatchUp() {
+        String cursor = cursor(1);
+        when(chatRepository.findBefore(eq("global"), any(PageCursor.class), anyInt())).thenReturn(List.of());
+
+        ChatHistoryPage page = service.getMessagesBefore("global", cursor, null);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getSinceCursor()).isEqualTo(cursor);
+    }
+
+    @Test
+    void catchUpReturnsMessagesAfterTheCursorOldestFirst() {
+        when(chatRepository.findSince(eq("plan:7"), any(PageCursor.class), eq(3))).thenReturn(messages(5, 6, 7));
+
+        ChatHistoryPage page = service.getMessagesSince("plan:7", cursor(4), null);
+
+        assertThat(ids(page)).containsExactly("m5", "m6");
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(PageCursor.decode(page.getBeforeCursor()).getId()).isEqualTo("m5");
+        assertThat(PageCursor.decode(page.getSinceCursor()).getId()).isEqualTo("m6");
+    }
+
+    @Test
+    void caughtUpClientKeepsItsCursor() {
+        String cursor = cursor(7);
+        when(chatRepository.findSince(eq("global"), any(PageCursor.class), anyInt())).thenReturn(List.of());
+
+        ChatHistoryPage page = service.getMessagesSince("global", cursor, null);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getBeforeCursor()).isNull();
+        assertThat(page.getSinceCursor()).isEqualTo(cursor);
+    }
+
+    @Test
+    void catchUpWithoutCursorFallsBackToTheNewestPage() {
+        when(chatRepository.findBefore("global", null, 3)).thenReturn(messages(9));
+
+        ChatHistoryPage page = service.getMessagesSince("global", null, null);
+
+        assertThat(ids(page)).containsExactly("m9");
+    }
+
+    @Test
+    void pageSizeIsClampedToTheMaximum() {
+        when(chatRepository.findBefore("global", null, 4)).thenReturn(List.of());
+
+        service.getMessagesBefore("global", null, 1000);
+
+        verify(chatRepository).findBefore("global", null, 4);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> service.getMessagesBefore("global", "not-a-cursor", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyRoomsAreNotKeptInMemory() {
+        assertThat(service.getRecentMessages("made:up")).isEmpty();
+        assertThat(service.getRecentMessages("made:up")).isEmpty();
+
+        assertThat(service.getStats().get("cachedRooms")).isEqualTo(0L);
+    }
+
+    @Test
+    void roomsWithMessagesAreServedFromMemory() {
+        List<CommunityChatMessage> newestFirst = messages(2, 1);
+        when(chatRepository.findByRoomIdOrderByCreatedAtDesc(eq("global"), any(Pageable.class))).thenReturn(newestFirst);
+
+        service.getRecentMessages("global");
+        List<CommunityChatMessage> recent = service.getRecentMessages("global");
+
+        assertThat(recent).extracting(CommunityChatMessage::getId).containsExactly("m1", "m2");
+        verify(chatRepository, times(1)).findByRoomIdOrderByCreatedAtDesc(eq("global"), any(Pageable.class));
+        assertThat(service.getStats().get("cachedRooms")).isEqualTo(1L);
+    }
+
+    @Test
+    void editingInAnIdleRoomDoesNotLoadIt() {
+        CommunityChatMessage message = messages(1).get(0);
+
+        service.edit(message, "updated");
+        service.delete(message);
+
+        verify(chatRepository).save(message);
+        verify(chatRepository).deleteById("m1");
+        verify(chatRepository, never()).findByRoomIdOrderByCreatedAtDesc(anyString(), any(Pageable.class));
+        assertThat(service.getStats().get("cachedRooms")).isEqualTo(0L);
+    }
+
+    @Test
+    void subscribersGetASnapshotThenTheirRoomsMessages() throws Exception {
+        service.subscribe("cuisine:italian", null);
+        service.subscribe("cuisine:thai", null);
+
+        service.post(message("m1", "cuisine:italian"));
+
+        CapturingEmitter italian = emitters.get(0);
+        italian.await(events -> events.size() == 2);
+        assertThat(italian.events.get(0)).contains("event:snapshot").contains("{}");
+        assertThat(italian.events.get(1)).contains("event:message").contains("[m1]");
+        Thread.sleep(50);
+        assertThat(emitters.get(1).events).hasSize(1);
+    }
+
+    @Test
+    void reconnectReplaysOnlyWhatWasMissed() throws Exception {
+        service.subscribe("global", null);
+        service.post(message("m1", "global"));
+        service.post(message("m2", "global"));
+        CapturingEmitter first = emitters.get(0);
+        first.await(events -> events.size() == 3);
+
+        service.subscribe("global", eventId(first.events.get(1)));
+
+        CapturingEmitter second = emitters.get(1);
+        second.await(events -> events.size() == 2);
+        assertThat(second.events.get(0)).isEqualTo(":connected\n\n");
+        assertThat(second.events.get(1)).contains("[m2]").doesNotContain("[m1]");
+    }
+
+    private static String eventId(String event) {
+        for (String line : event.split("\n")) {
+            if (line.startsWith("id:")) {
+                return line.substring(3);
+            }
+        }
+        throw new AssertionError("No id in " + event);
+    }
+
+    private static CommunityChatMessage message(String id, String roomId) {
+        CommunityChatMessage message = new CommunityChatMessage();
+        message.setId(id);
+        message.setRoomId(roomId);
+        message.setCreatedAt(START);
+        return message;
+    }
+
+    private static String cursor(int minute) {
+        return new PageCursor(START.plusMinutes(minute), "m" + minute).encode();
+    }
+
+    private static List<CommunityChatMessage> messages(int... minutes) {
+        List<CommunityChatMessage> messages = new ArrayList<>();
+        for (int minute : minutes) {
+            CommunityChatMessage message = new CommunityChatMessage();
+            message.setId("m" + minute);
+            message.setRoomId("global");
+            message.setCreatedAt(START.plusMinutes(minute));
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static List<String> ids(ChatHistoryPage page) {
+        return page.getItems().stream().map(CommunityChatMessage::getId).toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.skillsync.cooking_edition.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetServiceTest {
+
+    private final ConditionalGetService service = new ConditionalGetService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(service, "maxEntries", 100L);
+        service.init();
+    }
+
+    @Test
+    void etagIsAQuotedHashOfTheJsonBody() {
+        Map<String, Object> body = new HashMap<>(Map.of("id", "p1", "likes", 3));
+        Map<String, Object> same = new HashMap<>(Map.of("id", "p1", "likes", 3));
+        Map<String, Object> changed = new HashMap<>(Map.of("id", "p1", "likes", 4));
+
+        String etag = service.etagOf(body);
+
+        assertThat(etag).matches("\"[0-9a-f]{32}\"");
+        assertThat(service.etagOf(same)).isEqualTo(etag);
+        assertThat(service.etagOf(changed)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparisonAndLists() {
+        String etag = "\"abc\"";
+
+        assertThat(service.matches("\"abc\"", etag)).isTrue();
+        assertThat(service.matches("W/\"abc\"", etag)).isTrue();
+        assertThat(service.matches("\"x\", W/\"abc\"", etag)).isTrue();
+        assertThat(service.matches("*", etag)).isTrue();
+        assertThat(service.matches("\"abd\"", etag)).isFalse();
+        assertThat(service.matches(null, etag)).isFalse();
+        assertThat(service.matches("\"abc\"", null)).isFalse();
+    }
+
+    @Test
+    void knownEtagsAreRememberedUntilForgotten() {
+        String key = ConditionalGetService.postKey("p1");
+        service.remember(key, "\"abc\"");
+
+        assertThat(service.knownEtag(key)).isEqualTo("\"abc\"");
+        service.forget(key);
+        assertThat(service.knownEtag(key)).isNull();
+    }
+}
@@ -0,0 +1,123 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.IngredientMatch;
+import com.skillsync.cooking_edition.dto.IngredientMatchResults;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IngredientMatcherServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final IngredientMatcherService service = new IngredientMatcherService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "postRepository", postRepository);
+        when(postRepository.findSummariesByIds(any())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream().map(IngredientMatcherServiceTest::summary).toList();
+        });
+        service.index(post("salad", "2 Chopped Tomatoes", "1 cucumber", "olive oil (optional)"));
+        service.index(post("toast", "bread", "tomato"));
+        service.index(post("omelette", "eggs", "milk", "butter"));
+    }
+
+    @Test
+    void normalizeDropsQuantitiesUnitsAndPreparation() {
+        assertThat(IngredientMatcherService.normalize("2 cups Chopped Tomatoes"))
+                .isEqualTo(IngredientMatcherService.normalize("tomato"));
+        assertThat(IngredientMatcherService.normalize("(to taste)")).isEmpty();
+    }
+
+    @Test
+    void fullCoverageRanksFirstAndMissingIngredientsAreListed() {
+        IngredientMatchResults results = service.match(List.of("Tomatoes", "bread", "cucumber"), 0, 10);
+
+        assertThat(results.getTotal()).isEqualTo(2);
+        assertThat(results.getItems()).extracting(match -> match.getPost().getId()).containsExactly("toast", "salad");
+        IngredientMatch salad = results.getItems().get(1);
+        assertThat(salad.getMatched()).isEqualTo(2);
+        assertThat(salad.getMissing()).containsExactly(IngredientMatcherService.normalize("olive oil"));
+    }
+
+    @Test
+    void unknownIngredientsAreNotRecognized() {
+        IngredientMatchResults results = service.match(List.of("dragonfruit"), 0, 10);
+
+        assertThat(results.getRecognized()).isEmpty();
+        assertThat(results.getTotal()).isZero();
+        assertThat(results.getItems()).isEmpty();
+    }
+
+    @Test
+    void hugePageNumberReturnsAnEmptyPageInsteadOfOverflowing() {
+        IngredientMatchResults results = service.match(List.of("tomato"), Integer.MAX_VALUE / 2, 10);
+
+        assertThat(results.getTotal()).isEqualTo(2);
+        assertThat(results.getItems()).isEmpty();
+    }
+
+    @Test
+    void removedAndReindexedRecipesStopMatchingOldIngredients() {
+        service.remove("toast");
+        service.index(post("salad", "lettuce"));
+
+        assertThat(service.match(List.of("tomato"), 0, 10).getItems()).isEmpty();
+        assertThat(service.match(List.of("lettuce"), 0, 10).getItems())
+                .extracting(match -> match.getPost().getId()).containsExactly("salad");
+    }
+
+    @Test
+    void pagesOfACommonIngredientFollowTheFullRanking() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String id = String.format("r%03d", i);
+            List<String> ingredients = new ArrayList<>(List.of("salt"));
+            for (int extra = 0; extra < i % 4; extra++) {
+                ingredients.add("spice" + extra);
+            }
+            service.index(post(id, ingredients.toArray(String[]::new)));
+        }
+        // One matched ingredient each, so fewer extras means higher coverage; ties by id
+        for (int extras = 0; extras < 4; extras++) {
+            for (int i = extras; i < 200; i += 4) {
+                expected.add(String.format("r%03d", i));
+            }
+        }
+
+        List<String> paged = new ArrayList<>();
+        for (int page = 0; page * 7 < 200; page++) {
+            IngredientMatchResults results = service.match(List.of("salt"), page, 7);
+            assertThat(results.getTotal()).isEqualTo(200);
+            results.getItems().forEach(match -> paged.add(match.getPost().getId()));
+        }
+
+        assertThat(paged).isEqualTo(expected);
+    }
+
+    private static Post post(String id, String... ingredients) {
+        Post post = new Post();
+        post.setId(id);
+        post.setIngredients(List.of(ingredients));
+        return post;
+    }
+
+    private static PostSummary summary(String id) {
+        Post post = new Post();
+        post.setId(id);
+        return PostSummary.from(post);
+    }
+}
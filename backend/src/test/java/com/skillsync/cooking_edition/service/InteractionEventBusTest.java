@@ -0,0 +1,111 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.InteractionEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InteractionEventBusTest {
+
+    private InteractionEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void eventsOfOnePostAreHandledInPublishOrder() throws Exception {
+        int posts = 8;
+        int perPost = 200;
+        CountDownLatch done = new CountDownLatch(posts * perPost);
+        Map<String, List<String>> seen = new ConcurrentHashMap<>();
+        bus = bus(10_000, events -> {
+            for (InteractionEvent event : events) {
+                seen.computeIfAbsent(event.getPostId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(event.getActorId());
+                done.countDown();
+            }
+        });
+
+        for (int i = 0; i < perPost; i++) {
+            for (int p = 0; p < posts; p++) {
+                bus.publish(event("p" + p, String.valueOf(i)));
+            }
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        for (List<String> actors : seen.values()) {
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < perPost; i++) {
+                expected.add(String.valueOf(i));
+            }
+            assertThat(actors).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void fullPartitionHandlesTheEventOnThePublishingThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        bus = bus(2, events -> {
+            threads.add(Thread.currentThread().getName());
+            if (!Thread.currentThread().getName().startsWith("interaction-events")) {
+                return;
+            }
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // One partition per consumer, capacity 1 each: the worker blocks on the first event
+        for (int i = 0; i < 3; i++) {
+            bus.publish(event("p1", "u" + i));
+            Thread.sleep(50);
+        }
+        release.countDown();
+
+        assertThat(threads).contains(Thread.currentThread().getName());
+        assertThat(bus.getStats().get("handledInline")).isNotEqualTo(0L);
+    }
+
+    @Test
+    void aFailingHandlerDoesNotStopTheOthers() throws Exception {
+        CountDownLatch handled = new CountDownLatch(1);
+        bus = bus(100, events -> {
+            throw new IllegalStateException("boom");
+        }, events -> handled.countDown());
+
+        bus.publish(event("p1", "u1"));
+
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static InteractionEventBus bus(int capacity, InteractionEventHandler... handlers) {
+        InteractionEventBus bus = new InteractionEventBus();
+        ReflectionTestUtils.setField(bus, "handlers", List.of(handlers));
+        ReflectionTestUtils.setField(bus, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(bus, "consumers", 2);
+        ReflectionTestUtils.setField(bus, "batchSize", 16);
+        bus.start();
+        return bus;
+    }
+
+    private static InteractionEvent event(String postId, String actorId) {
+        return new InteractionEvent(InteractionEvent.Type.LIKED, postId, "owner", actorId);
+    }
+}
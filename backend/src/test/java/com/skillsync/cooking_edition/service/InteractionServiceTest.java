@@ -0,0 +1,292 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.InteractionEvent;
+import com.skillsync.cooking_edition.dto.LikeToggleResult;
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.model.Comment;
+import com.skillsync.cooking_edition.model.Like;
+import com.skillsync.cooking_edition.model.Notification;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.CommentRepository;
+import com.skillsync.cooking_edition.repository.LikeRepository;
+import com.skillsync.cooking_edition.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InteractionServiceTest {
+
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final LikeRepository likeRepository = mock(LikeRepository.class);
+    private final PostCacheService postCacheService = mock(PostCacheService.class);
+    private final PostCounterBuffer postCounterBuffer = mock(PostCounterBuffer.class);
+    private final InteractionEventBus interactionEventBus = mock(InteractionEventBus.class);
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final UnreadCountService unreadCountService = mock(UnreadCountService.class);
+    private final InteractionService service = new InteractionService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "commentRepository", commentRepository);
+        ReflectionTestUtils.setField(service, "likeRepository", likeRepository);
+        ReflectionTestUtils.setField(service, "postCacheService", postCacheService);
+        ReflectionTestUtils.setField(service, "postCounterBuffer", postCounterBuffer);
+        ReflectionTestUtils.setField(service, "interactionEventBus", interactionEventBus);
+        ReflectionTestUtils.setField(service, "notificationRepository", notificationRepository);
+        ReflectionTestUtils.setField(service, "unreadCountService", unreadCountService);
+        ReflectionTestUtils.setField(service, "defaultCommentPageSize", 20);
+        ReflectionTestUtils.setField(service, "defaultNotificationPageSize", 20);
+        ReflectionTestUtils.setField(service, "maxNotificationPageSize", 100);
+        ReflectionTestUtils.setField(service, "maxNotificationsPerUser", 500);
+        ReflectionTestUtils.setField(service, "maxCommentPageSize", 100);
+        Post post = new Post();
+        post.setId("p1");
+        post.setUserId("owner");
+        post.setLikes(4);
+        when(postCacheService.getPost("p1")).thenReturn(post);
+    }
+
+    @Test
+    void toggleAddsAMissingLikeAndPublishesLiked() {
+        when(likeRepository.removeIfPresent("p1", "u1")).thenReturn(false);
+        when(likeRepository.addIfAbsent("p1", "u1")).thenReturn(true);
+        when(postCounterBuffer.pendingLikes("p1")).thenReturn(1L);
+
+        LikeToggleResult result = service.toggleLike("p1", "u1");
+
+        assertThat(result.isLiked()).isTrue();
+        assertThat(result.getLikeCount()).isEqualTo(5);
+        verify(postCounterBuffer).add("p1", 1, 0);
+        verify(interactionEventBus).publish(argThat(event -> event.getType() == InteractionEvent.Type.LIKED
+                && "owner".equals(event.getPostOwnerId()) && "u1".equals(event.getActorId())));
+    }
+
+    @Test
+    void toggleRemovesAnExistingLikeAndPublishesUnliked() {
+        when(likeRepository.removeIfPresent("p1", "u1")).thenReturn(true);
+        when(postCounterBuffer.pendingLikes("p1")).thenReturn(-1L);
+
+        LikeToggleResult result = service.toggleLike("p1", "u1");
+
+        assertThat(result.isLiked()).isFalse();
+        assertThat(result.getLikeCount()).isEqualTo(3);
+        verify(likeRepository, never()).addIfAbsent(anyString(), anyString());
+        verify(postCounterBuffer).add("p1", -1, 0);
+        verify(interactionEventBus).publish(argThat(event -> event.getType() == InteractionEvent.Type.UNLIKED));
+    }
+
+    @Test
+    void losingAnInsertRaceNeitherCountsNorPublishes() {
+        when(likeRepository.removeIfPresent("p1", "u1")).thenReturn(false);
+        when(likeRepository.addIfAbsent("p1", "u1")).thenReturn(false);
+
+        LikeToggleResult result = service.toggleLike("p1", "u1");
+
+        assertThat(result.isLiked()).isTrue();
+        verify(postCounterBuffer, never()).add(anyString(), anyInt(), anyInt());
+        verify(interactionEventBus, never()).publish(any());
+    }
+
+    @Test
+    void togglingAMissingPostFails() {
+        assertThatThrownBy(() -> service.toggleLike("gone", "u1")).hasMessageContaining("Post not found");
+        verify(likeRepository, never()).removeIfPresent(anyString(), anyString());
+    }
+
+    @Test
+    void likedPostIdsComeFromOneQuery() {
+        Like like = new Like();
+        like.setPostId("b");
+        when(likeRepository.findPostIdsLikedByUser("u1", List.of("a", "b"))).thenReturn(List.of(like));
+
+        assertThat(service.findLikedPostIds("u1", List.of("a", "b"))).containsExactly("b");
+    }
+
+    @Test
+    void noPostIdsMeansNoQuery() {
+        assertThat(service.findLikedPostIds("u1", List.of())).isEmpty();
+        verify(likeRepository, never()).findPostIdsLikedByUser(anyString(), anyCollection());
+    }
+
+    @Test
+    void addingACommentSavesItAndPublishesOnce() {
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment saved = invocation.getArgument(0);
+            saved.setId("c1");
+            return saved;
+        });
+
+        Comment comment = service.addComment("p1", "u1", "Ana", "pic.png", "Lovely");
+
+        assertThat(comment.getUserName()).isEqualTo("Ana");
+        assertThat(comment.getUserPicture()).isEqualTo("pic.png");
+        assertThat(comment.getContent()).isEqualTo("Lovely");
+        verify(postCounterBuffer).add("p1", 0, 1);
+        verify(interactionEventBus).publish(argThat(event -> event.getType() == InteractionEvent.Type.COMMENTED
+                && "owner".equals(event.getPostOwnerId()) && "c1".equals(event.getCommentId())
+                && "Ana".equals(event.getActorName())));
+    }
+
+    @Test
+    void commentingOnAMissingPostSavesNothing() {
+        assertThatThrownBy(() -> service.addComment("gone", "u1", "Ana", null, "Hi"))
+                .hasMessageContaining("Post not found");
+        verifyNoInteractions(commentRepository, interactionEventBus);
+    }
+
+    @Test
+    void deletingACommentPublishesOnce() {
+        Comment comment = new Comment();
+        comment.setId("c1");
+        comment.setPostId("p1");
+        comment.setUserId("u1");
+        when(commentRepository.removeIfPresent("c1")).thenReturn(true, false);
+
+        service.deleteComment(comment);
+        service.deleteComment(comment);
+
+        verify(postCounterBuffer).add("p1", 0, -1);
+        verify(interactionEventBus).publish(argThat(event -> event.getType() == InteractionEvent.Type.COMMENT_DELETED
+                && "c1".equals(event.getCommentId())));
+    }
+
+    @Test
+    void commentPageFetchesOneExtraRowAndPointsTheCursorAtTheLastItem() {
+        List<Comment> fetched = comments(4);
+        when(commentRepository.findPage("p1", null, 4)).thenReturn(fetched);
+
+        FeedPage<Comment> page = service.getCommentPage("p1", null, 3);
+
+        assertThat(page.getItems()).extracting(Comment::getId).containsExactly("c0", "c1", "c2");
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertThat(next.getId()).isEqualTo("c2");
+        assertThat(next.getCreatedAt()).isEqualTo(fetched.get(2).getCreatedAt());
+    }
+
+    @Test
+    void lastCommentPageHasNoCursorAndLimitsAreClamped() {
+        when(commentRepository.findPage(eq("p1"), isNull(), eq(101))).thenReturn(comments(2));
+
+        FeedPage<Comment> page = service.getCommentPage("p1", null, 5000);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNull();
+        service.getCommentPage("p1", null, null);
+        verify(commentRepository).findPage(eq("p1"), isNull(), eq(21));
+    }
+
+    @Test
+    void commentPageContinuesAfterTheDecodedCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 0);
+        String cursor = new PageCursor(createdAt, "c9").encode();
+
+        service.getCommentPage("p1", cursor, 10);
+
+        verify(commentRepository).findPage(eq("p1"),
+                argThat(after -> "c9".equals(after.getId()) && createdAt.equals(after.getCreatedAt())), eq(11));
+    }
+
+    @Test
+    void markAllReadSubtractsWhatWasActuallyUpdated() {
+        when(notificationRepository.markAllReadByUserId(eq("u1"), any(LocalDateTime.class))).thenReturn(7L);
+
+        assertThat(service.markAllNotificationsAsRead("u1")).isEqualTo(7);
+
+        verify(unreadCountService).decrement("u1", 7);
+    }
+
+    @Test
+    void markingAnAlreadyReadNotificationLeavesTheCounter() {
+        Notification notification = new Notification();
+        notification.setId("n1");
+        notification.setUserId("u1");
+        when(notificationRepository.findById("n1")).thenReturn(Optional.of(notification));
+        when(notificationRepository.markReadIfUnread(eq("n1"), any(LocalDateTime.class))).thenReturn(1L, 0L);
+
+        service.markNotificationAsRead("n1", "u1");
+        service.markNotificationAsRead("n1", "u1");
+
+        verify(unreadCountService).decrement("u1", 1);
+    }
+
+    @Test
+    void markingSomeoneElsesNotificationFails() {
+        Notification notification = new Notification();
+        notification.setUserId("u2");
+        when(notificationRepository.findById("n1")).thenReturn(Optional.of(notification));
+
+        assertThatThrownBy(() -> service.markNotificationAsRead("n1", "u1")).hasMessage("Unauthorized");
+        verifyNoInteractions(unreadCountService);
+    }
+
+    @Test
+    void deletingReadNotificationsKeepsTheCounterAndDeletingAllRecounts() {
+        when(notificationRepository.deleteByUserIdAndIsReadTrue("u1")).thenReturn(4L);
+        when(notificationRepository.deleteByUserId("u1")).thenReturn(9L);
+
+        assertThat(service.deleteNotifications("u1", true)).isEqualTo(4);
+        verifyNoInteractions(unreadCountService);
+
+        assertThat(service.deleteNotifications("u1", false)).isEqualTo(9);
+        verify(unreadCountService).invalidate("u1");
+    }
+
+    @Test
+    void notificationPageHandsOutACursorOnlyWhenMoreExist() {
+        List<Notification> fetched = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Notification notification = new Notification();
+            notification.setId("n" + i);
+            notification.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).minusMinutes(i));
+            fetched.add(notification);
+        }
+        when(notificationRepository.findPage("u1", null, 3)).thenReturn(fetched);
+        when(notificationRepository.findPage("u1", null, 101)).thenReturn(fetched);
+
+        FeedPage<Notification> page = service.getNotificationPage("u1", null, 2);
+        assertThat(page.getItems()).extracting(Notification::getId).containsExactly("n0", "n1");
+        assertThat(PageCursor.decode(page.getNextCursor()).getId()).isEqualTo("n1");
+
+        assertThat(service.getNotificationPage("u1", null, 1000).getNextCursor()).isNull();
+    }
+
+    @Test
+    void fullNotificationListIsBoundedByTheRetentionCap() {
+        service.getUserNotifications("u1");
+
+        verify(notificationRepository).findPage("u1", null, 500);
+    }
+
+    private static List<Comment> comments(int count) {
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Comment comment = new Comment();
+            comment.setId("c" + i);
+            comment.setPostId("p1");
+            comment.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+            comments.add(comment);
+        }
+        return comments;
+    }
+}
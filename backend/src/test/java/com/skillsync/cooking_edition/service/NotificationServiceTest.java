@@ -0,0 +1,125 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.InteractionEvent;
+import com.skillsync.cooking_edition.model.Notification;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.NotificationRepository;
+import com.skillsync.cooking_edition.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTest {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final NotificationStreamService notificationStreamService = mock(NotificationStreamService.class);
+    private final UnreadCountService unreadCountService = mock(UnreadCountService.class);
+    private final PostCacheService postCacheService = mock(PostCacheService.class);
+    private final NotificationService service = new NotificationService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "notificationRepository", notificationRepository);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "notificationStreamService", notificationStreamService);
+        ReflectionTestUtils.setField(service, "unreadCountService", unreadCountService);
+        ReflectionTestUtils.setField(service, "postCacheService", postCacheService);
+        ReflectionTestUtils.setField(service, "coalesceWindowHours", 24L);
+        ReflectionTestUtils.setField(service, "maxRecentActors", 5);
+        ReflectionTestUtils.setField(service, "maxActors", 1000);
+        ReflectionTestUtils.setField(service, "maxPerUser", 500);
+        when(postCacheService.getPost("p1")).thenReturn(new Post());
+    }
+
+    @Test
+    void likesOnOnePostCoalesceIntoOneNotification() {
+        Notification saved = notification(2);
+        saved.setInserted(true);
+        when(notificationRepository.coalesce(any(), anyList(), any(), anyInt(), anyInt())).thenReturn(saved);
+
+        service.handle(List.of(like("p1", "a", "Ana"), like("p1", "b", "Ben")));
+
+        verify(notificationRepository).coalesce(argThat(latest -> "b".equals(latest.getSenderId())),
+                argThat(actors -> actors.size() == 2), any(), eq(5), eq(1000));
+        verify(unreadCountService).increment("owner", 1);
+        verify(notificationStreamService).publish(saved);
+        verify(notificationRepository).trimToNewest("owner", 500);
+    }
+
+    @Test
+    void trimmingAnOwnerOverTheCapRecountsTheirBadge() {
+        Notification saved = notification(1);
+        saved.setInserted(true);
+        when(notificationRepository.coalesce(any(), anyList(), any(), anyInt(), anyInt())).thenReturn(saved);
+        when(notificationRepository.trimToNewest("owner", 500)).thenReturn(1L);
+
+        service.handle(List.of(like("p1", "b", "Ben")));
+
+        verify(unreadCountService).invalidate("owner");
+    }
+
+    @Test
+    void joiningAnOpenNotificationLeavesTheBadgeAlone() {
+        Notification saved = notification(3);
+        when(notificationRepository.coalesce(any(), anyList(), any(), anyInt(), anyInt())).thenReturn(saved);
+
+        service.handle(List.of(like("p1", "b", "Ben")));
+
+        verifyNoInteractions(unreadCountService);
+        verify(notificationStreamService).publish(saved);
+        verify(notificationRepository, never()).trimToNewest(any(), anyInt());
+    }
+
+    @Test
+    void eventsForDeletedPostsAreDropped() {
+        service.handle(List.of(like("gone", "a", "Ana")));
+
+        verify(notificationRepository, never()).coalesce(any(), anyList(), any(), anyInt(), anyInt());
+        verifyNoInteractions(notificationStreamService, unreadCountService);
+    }
+
+    @Test
+    void ownLikesAreNotNotified() {
+        service.handle(List.of(like("p1", "owner", "Olga")));
+
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void messageCountsTheOthers() {
+        assertThat(Notification.message(Notification.NotificationType.LIKE, "Ana", 1)).isEqualTo("Ana liked your post");
+        assertThat(Notification.message(Notification.NotificationType.COMMENT, "Ana", 42))
+                .isEqualTo("Ana and 41 others commented on your post");
+    }
+
+    private static InteractionEvent like(String postId, String actorId, String actorName) {
+        InteractionEvent event = new InteractionEvent(InteractionEvent.Type.LIKED, postId, "owner", actorId);
+        event.setActorName(actorName);
+        return event;
+    }
+
+    private static Notification notification(int count) {
+        Notification notification = new Notification();
+        notification.setId("n1");
+        notification.setUserId("owner");
+        notification.setType(Notification.NotificationType.LIKE);
+        notification.setSenderName("Ben");
+        notification.setCount(count);
+        return notification;
+    }
+}
@@ -0,0 +1,121 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.model.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationStreamServiceTest {
+
+    private final List<CapturingEmitter> emitters = Collections.synchronizedList(new ArrayList<>());
+    private final NotificationStreamService service = new NotificationStreamService() {
+        @Override
+        SseEmitter createEmitter() {
+            CapturingEmitter emitter = new CapturingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(service, "bufferSize", 64);
+        ReflectionTestUtils.setField(service, "replaySize", 2);
+        ReflectionTestUtils.setField(service, "senderThreads", 2);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void liveNotificationsCarryIncreasingIds() throws Exception {
+        service.subscribe("u1", null);
+        service.publish(notification("n1"));
+        service.publish(notification("n2"));
+
+        CapturingEmitter live = emitters.get(0);
+        live.await(events -> events.size() == 3);
+        assertThat(live.events.get(0)).isEqualTo(":connected\n\n");
+        assertThat(id(live.events.get(2))).isGreaterThan(id(live.events.get(1)));
+    }
+
+    @Test
+    void reconnectReplaysOnlyWhatWasMissed() throws Exception {
+        service.subscribe("u1", null);
+        service.publish(notification("n1"));
+        service.publish(notification("n2"));
+        CapturingEmitter first = emitters.get(0);
+        first.await(events -> events.size() == 3);
+
+        service.subscribe("u1", String.valueOf(id(first.events.get(1))));
+
+        CapturingEmitter second = emitters.get(1);
+        second.await(events -> events.size() == 2);
+        assertThat(second.events.get(1)).contains("[n2]").doesNotContain("[n1]");
+    }
+
+    @Test
+    void gapBeyondTheRingAsksTheClientToResync() throws Exception {
+        service.subscribe("u1", null);
+        for (int i = 1; i <= 4; i++) {
+            service.publish(notification("n" + i));
+        }
+        CapturingEmitter first = emitters.get(0);
+        first.await(events -> events.size() == 5);
+
+        service.subscribe("u1", String.valueOf(id(first.events.get(1))));
+
+        CapturingEmitter second = emitters.get(1);
+        second.await(events -> events.size() == 4);
+        assertThat(second.events.get(1)).contains("event:resync");
+        assertThat(second.events.get(2)).contains("[n3]");
+        assertThat(second.events.get(3)).contains("[n4]");
+    }
+
+    @Test
+    void idsFromBeforeTheRingExistedAlsoResync() throws Exception {
+        service.subscribe("u2", "1");
+
+        CapturingEmitter emitter = emitters.get(0);
+        emitter.await(events -> events.size() == 2);
+        assertThat(emitter.events.get(1)).contains("event:resync");
+    }
+
+    @Test
+    void unparsableLastEventIdIsIgnored() throws Exception {
+        service.subscribe("u1", "not-a-number");
+
+        CapturingEmitter emitter = emitters.get(0);
+        emitter.await(events -> events.size() == 1);
+        Thread.sleep(50);
+        assertThat(emitter.events).hasSize(1);
+    }
+
+    private static long id(String event) {
+        for (String line : event.split("\n")) {
+            if (line.startsWith("id:")) {
+                return Long.parseLong(line.substring(3));
+            }
+        }
+        throw new AssertionError("No id in " + event);
+    }
+
+    private static Notification notification(String id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setUserId("u1");
+        return notification;
+    }
+}
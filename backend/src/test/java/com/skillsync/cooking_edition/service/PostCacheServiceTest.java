@@ -0,0 +1,169 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostCacheServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final ConditionalGetService conditionalGetService = mock(ConditionalGetService.class);
+    private final PostCacheService cache = new PostCacheService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "postRepository", postRepository);
+        ReflectionTestUtils.setField(cache, "conditionalGetService", conditionalGetService);
+        ReflectionTestUtils.setField(cache, "maxPostBytes", 1_000_000L);
+        ReflectionTestUtils.setField(cache, "postTtlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxFeedPages", 64L);
+        ReflectionTestUtils.setField(cache, "feedTtlSeconds", 60L);
+        cache.init();
+    }
+
+    @Test
+    void postIsLoadedOnceAndServedFromMemory() {
+        Post post = post("p1", 3);
+        when(postRepository.findById("p1")).thenReturn(Optional.of(post));
+
+        assertThat(cache.getPost("p1")).isSameAs(post);
+        assertThat(cache.getPost("p1")).isSameAs(post);
+
+        verify(postRepository, times(1)).findById("p1");
+        assertThat(cache.isCurrent(post)).isTrue();
+    }
+
+    @Test
+    void missingPostIsNull() {
+        when(postRepository.findById("nope")).thenReturn(Optional.empty());
+
+        assertThat(cache.getPost("nope")).isNull();
+    }
+
+    @Test
+    void savingAPostWritesThroughAndDropsFeedPages() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getFeedPage(null, 20, () -> page(loads));
+        Post saved = post("p1", 0);
+
+        cache.onPostSaved(saved);
+
+        assertThat(cache.getPost("p1")).isSameAs(saved);
+        cache.getFeedPage(null, 20, () -> page(loads));
+        assertThat(loads).hasValue(2);
+        verify(conditionalGetService).forget(ConditionalGetService.postKey("p1"));
+    }
+
+    @Test
+    void deletingAPostEvictsIt() {
+        Post post = post("p1", 0);
+        cache.onPostSaved(post);
+
+        cache.onPostDeleted("p1");
+
+        assertThat(cache.isCurrent(post)).isFalse();
+    }
+
+    @Test
+    void feedPagesAreKeyedByCursorAndSize() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getFeedPage(null, 20, () -> page(loads));
+        cache.getFeedPage(null, 20, () -> page(loads));
+        cache.getFeedPage("abc", 20, () -> page(loads));
+        cache.getFeedPage(null, 10, () -> page(loads));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void counterChangesDropOnlyThePagesShowingThePost() {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger otherLoads = new AtomicInteger();
+        cache.getFeedPage(null, 20, () -> page(loads));
+        cache.getFeedPage("older", 20, () -> otherPage(otherLoads));
+        Post post = post("p1", 0);
+        cache.onPostSaved(post);
+        cache.getFeedPage(null, 20, () -> page(loads));
+        cache.getFeedPage("older", 20, () -> otherPage(otherLoads));
+
+        cache.onCountersChanged("p1");
+
+        cache.getFeedPage(null, 20, () -> page(loads));
+        cache.getFeedPage("older", 20, () -> otherPage(otherLoads));
+        assertThat(loads).hasValue(3);
+        assertThat(otherLoads).hasValue(2);
+        // The cached post is dropped so the next read sees MongoDB's counters
+        assertThat(cache.isCurrent(post)).isFalse();
+    }
+
+    @Test
+    void reloadedPagesAreIndexedAgain() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getFeedPage(null, 20, () -> page(loads));
+        cache.onCountersChanged("p2");
+        cache.getFeedPage(null, 20, () -> page(loads));
+
+        cache.onCountersChanged("p1");
+
+        cache.getFeedPage(null, 20, () -> page(loads));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void pageLoadedDuringAFlushIsNotKept() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getFeedPage(null, 20, () -> {
+            // The flush lands while this page is being read from MongoDB
+            cache.onCountersChanged("p9");
+            return page(loads);
+        });
+
+        cache.getFeedPage(null, 20, () -> page(loads));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void sizeEstimateGrowsWithRecipeText() {
+        Post small = post("p1", 0);
+        Post large = post("p2", 0);
+        large.setInstructions(List.of("x".repeat(10_000)));
+
+        assertThat(PostCacheService.estimateSize(large)).isGreaterThan(PostCacheService.estimateSize(small) + 20_000);
+    }
+
+    private static FeedPage<PostSummary> page(AtomicInteger loads) {
+        loads.incrementAndGet();
+        PostSummary first = PostSummary.from(post("p1", 1));
+        PostSummary second = PostSummary.from(post("p2", 5));
+        return new FeedPage<>(List.of(first, second), null);
+    }
+
+    private static FeedPage<PostSummary> otherPage(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new FeedPage<>(List.of(PostSummary.from(post("p3", 0))), null);
+    }
+
+    private static Post post(String id, int likes) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Title " + id);
+        post.setLikes(likes);
+        post.setComments(0);
+        return post;
+    }
+}
@@ -0,0 +1,181 @@
+package com.skillsync.cooking_edition.service;
+
+import com.mongodb.client.result.DeleteResult;
+import com.skillsync.cooking_edition.model.Comment;
+import com.skillsync.cooking_edition.model.Like;
+import com.skillsync.cooking_edition.model.Notification;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.PostCleanupJob;
+import com.skillsync.cooking_edition.model.TimelineEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostCleanupServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final UnreadCountService unreadCountService = mock(UnreadCountService.class);
+    private final PostCleanupService service = new PostCleanupService();
+
+    @TempDir
+    Path uploads;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "unreadCountService", unreadCountService);
+        ReflectionTestUtils.setField(service, "uploadPath", uploads.toString());
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "initialBackoffMs", 10L);
+        service.init();
+        when(mongoTemplate.remove(any(Query.class), eq(Comment.class))).thenReturn(DeleteResult.acknowledged(2));
+        when(mongoTemplate.remove(any(Query.class), eq(Like.class))).thenReturn(DeleteResult.acknowledged(5));
+        when(mongoTemplate.remove(any(Query.class), eq(TimelineEntry.class))).thenReturn(DeleteResult.acknowledged(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void deletesDependentsAndMediaAndRefreshesTheOwnersBadge() throws Exception {
+        Files.writeString(uploads.resolve("a.jpg"), "x");
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class))).thenReturn(DeleteResult.acknowledged(3));
+
+        Map<String, Object> status = runToCompletion(post("owner", "/uploads/a.jpg", "/uploads/../escape.jpg"));
+
+        assertThat(status).containsEntry("status", "DONE")
+                .containsEntry("deletedComments", 2L)
+                .containsEntry("deletedLikes", 5L)
+                .containsEntry("deletedNotifications", 3L)
+                .containsEntry("deletedFiles", 1L);
+        assertThat(uploads.resolve("a.jpg")).doesNotExist();
+        verify(unreadCountService).invalidate("owner");
+    }
+
+    @Test
+    void noDeletedNotificationsLeavesTheBadgeAlone() throws Exception {
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        runToCompletion(post("owner"));
+
+        verify(unreadCountService, never()).invalidate(anyString());
+    }
+
+    @Test
+    void failedStepIsRetriedFromTheStart() throws Exception {
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class)))
+                .thenThrow(new RuntimeException("timeout"))
+                .thenReturn(DeleteResult.acknowledged(1));
+
+        Map<String, Object> status = runToCompletion(post("owner"));
+
+        assertThat(status).containsEntry("status", "DONE").containsEntry("attempts", 2)
+                .containsEntry("deletedComments", 4L);
+    }
+
+    @Test
+    void jobIsRecordedUntilItFinishes() throws Exception {
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        runToCompletion(post("owner", "/uploads/a.jpg"));
+
+        ArgumentCaptor<PostCleanupJob> saved = ArgumentCaptor.forClass(PostCleanupJob.class);
+        verify(mongoTemplate).save(saved.capture());
+        assertThat(saved.getValue().getId()).isEqualTo("p1");
+        assertThat(saved.getValue().getOwnerId()).isEqualTo("owner");
+        assertThat(saved.getValue().getPendingFiles()).containsExactly("/uploads/a.jpg");
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(PostCleanupJob.class));
+        assertThat(removed.getValue().getQueryObject().get("id")).isEqualTo("p1");
+    }
+
+    @Test
+    void jobThatRunsOutOfAttemptsStaysRecorded() throws Exception {
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class))).thenThrow(new RuntimeException("down"));
+
+        Map<String, Object> status = runToCompletion(post("owner"));
+
+        assertThat(status).containsEntry("status", "FAILED");
+        ArgumentCaptor<PostCleanupJob> saved = ArgumentCaptor.forClass(PostCleanupJob.class);
+        // Queued, retrying twice, then failed; the last save may land just after the status flips
+        verify(mongoTemplate, timeout(1000).times(4)).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo("FAILED");
+        assertThat(saved.getValue().getLastError()).isEqualTo("down");
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(PostCleanupJob.class));
+    }
+
+    @Test
+    void recordedJobsAreResumedAtStartup() throws Exception {
+        Files.writeString(uploads.resolve("left.jpg"), "x");
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class))).thenReturn(DeleteResult.acknowledged(0));
+        PostCleanupJob pending = new PostCleanupJob();
+        pending.setId("p7");
+        pending.setOwnerId("owner");
+        pending.setPendingFiles(List.of("/uploads/left.jpg"));
+        pending.setQueuedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        when(mongoTemplate.findAll(PostCleanupJob.class)).thenReturn(List.of(pending));
+        PostCleanupService restarted = new PostCleanupService();
+        ReflectionTestUtils.setField(restarted, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(restarted, "unreadCountService", unreadCountService);
+        ReflectionTestUtils.setField(restarted, "uploadPath", uploads.toString());
+        ReflectionTestUtils.setField(restarted, "maxAttempts", 3);
+        ReflectionTestUtils.setField(restarted, "initialBackoffMs", 10L);
+
+        restarted.init();
+        try {
+            Map<String, Object> status = awaitFinished(restarted, "p7");
+            assertThat(status).containsEntry("status", "DONE").containsEntry("deletedFiles", 1L);
+            assertThat(uploads.resolve("left.jpg")).doesNotExist();
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    private Map<String, Object> runToCompletion(Post post) throws InterruptedException {
+        service.schedule(post);
+        return awaitFinished(service, post.getId());
+    }
+
+    private static Map<String, Object> awaitFinished(PostCleanupService service, String postId)
+            throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            Map<String, Object> status = service.getStatus(postId);
+            if ("DONE".equals(status.get("status")) || "FAILED".equals(status.get("status"))) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Cleanup did not finish");
+    }
+
+    private static Post post(String ownerId, String... mediaUrls) {
+        Post post = new Post();
+        post.setId("p1");
+        post.setUserId(ownerId);
+        post.setMediaUrls(List.of(mediaUrls));
+        return post;
+    }
+}
@@ -0,0 +1,157 @@
+package com.skillsync.cooking_edition.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostCounterBufferTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostCacheService postCacheService = mock(PostCacheService.class);
+    private final ConditionalGetService conditionalGetService = mock(ConditionalGetService.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final PostCounterBuffer buffer = new PostCounterBuffer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(buffer, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(buffer, "postRepository", postRepository);
+        ReflectionTestUtils.setField(buffer, "postCacheService", postCacheService);
+        ReflectionTestUtils.setField(buffer, "conditionalGetService", conditionalGetService);
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(bulk);
+    }
+
+    @Test
+    void pendingDeltasAreOverlaidOnACopy() {
+        buffer.add("p1", 1, 0);
+        buffer.add("p1", 1, 1);
+        Post cached = post("p1", 10, 2);
+
+        Post shown = buffer.overlay(cached);
+
+        assertThat(shown).isNotSameAs(cached);
+        assertThat(shown.getLikes()).isEqualTo(12);
+        assertThat(shown.getComments()).isEqualTo(3);
+        assertThat(cached.getLikes()).isEqualTo(10);
+        assertThat(buffer.overlay(post("p2", 1, 1))).extracting(Post::getLikes).isEqualTo(1);
+    }
+
+    @Test
+    void flushSendsOneIncPerPostAndClearsPending() {
+        buffer.add("p1", 1, 0);
+        buffer.add("p1", 1, 0);
+        buffer.add("p2", 0, -1);
+
+        buffer.flush();
+
+        verify(bulk).updateOne(any(Query.class), eq(new Update().inc("likes", 2L)));
+        verify(bulk).updateOne(any(Query.class), eq(new Update().inc("comments", -1L)));
+        verify(bulk).execute();
+        verify(postCacheService).onCountersChanged("p1");
+        verify(postCacheService).onCountersChanged("p2");
+        assertThat(buffer.pendingLikes("p1")).isZero();
+        assertThat(buffer.pendingComments("p2")).isZero();
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForTheNextCycle() {
+        buffer.add("p1", 3, 0);
+        when(bulk.execute()).thenThrow(new RuntimeException("network"));
+
+        buffer.flush();
+
+        assertThat(buffer.pendingLikes("p1")).isEqualTo(3);
+        verify(postCacheService, never()).onCountersChanged(anyString());
+    }
+
+    @Test
+    void deltaStopsBeingOverlaidOnceTheWriteIsUnderway() {
+        buffer.add("p1", 4, 0);
+        // While the bulk runs MongoDB may already hold the delta, so reads must not add it again
+        when(bulk.execute()).thenAnswer(invocation -> {
+            assertThat(buffer.pendingLikes("p1")).isZero();
+            assertThat(buffer.overlay(post("p1", 14, 0)).getLikes()).isEqualTo(14);
+            return null;
+        });
+
+        buffer.flush();
+
+        verify(bulk).execute();
+        assertThat(buffer.pendingLikes("p1")).isZero();
+    }
+
+    @Test
+    void partlyFailedBulkHandsBackOnlyTheFailedDeltas() {
+        buffer.add("p1", 1, 0);
+        buffer.add("p2", 2, 0);
+        BulkWriteError error = new BulkWriteError(11000, "failed", new BsonDocument(), 1);
+        when(bulk.execute()).thenThrow(new BulkOperationException("partial",
+                new MongoBulkWriteException(BulkWriteResult.unacknowledged(), List.of(error), null,
+                        new ServerAddress(), Set.of())));
+
+        buffer.flush();
+
+        long pending = buffer.pendingLikes("p1") + buffer.pendingLikes("p2");
+        assertThat(pending).isIn(1L, 2L);
+        verify(postCacheService, times(1)).onCountersChanged(anyString());
+    }
+
+    @Test
+    void idleCountersAreRetiredAndStillFlushed() {
+        buffer.add("p1", 1, 0);
+        buffer.flush();
+        buffer.flush(); // idle: moved to retired
+        buffer.add("p1", 1, 0); // a new counter alongside the retired one
+
+        buffer.flush();
+
+        verify(postCacheService, times(2)).onCountersChanged("p1");
+        assertThat(buffer.pendingLikes("p1")).isZero();
+    }
+
+    @Test
+    void disabledBufferWritesThrough() {
+        ReflectionTestUtils.setField(buffer, "enabled", false);
+
+        buffer.add("p1", 0, 1);
+
+        verify(postRepository).incrementCounters("p1", 0, 1);
+        verify(postCacheService).onCountersChanged("p1");
+        assertThat(buffer.pendingComments("p1")).isZero();
+    }
+
+    private static Post post(String id, int likes, int comments) {
+        Post post = new Post();
+        post.setId(id);
+        post.setLikes(likes);
+        post.setComments(comments);
+        return post;
+    }
+}
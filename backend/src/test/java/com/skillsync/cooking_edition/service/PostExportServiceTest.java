@@ -0,0 +1,104 @@
+package com.skillsync.cooking_edition.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostExportServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final PostCounterBuffer postCounterBuffer = mock(PostCounterBuffer.class);
+    private final PostExportService service = new PostExportService();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "postRepository", postRepository);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "postCounterBuffer", postCounterBuffer);
+        when(postCounterBuffer.overlay(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void writesOneJsonObjectPerLineAndClosesTheCursor() throws Exception {
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(postRepository.streamByUpdatedAt(since)).thenReturn(posts(3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.writeNdjson(since, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < lines.length; i++) {
+            assertThat(objectMapper.readValue(lines[i], Post.class).getId()).isEqualTo("p" + i);
+        }
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void unflushedCountersAreIncluded() throws Exception {
+        when(postRepository.streamByUpdatedAt(null)).thenReturn(posts(1));
+        when(postCounterBuffer.overlay(any(Post.class))).thenAnswer(invocation -> {
+            Post stored = invocation.getArgument(0);
+            Post overlaid = new Post();
+            overlaid.setId(stored.getId());
+            overlaid.setLikes(stored.getLikes() + 2);
+            return overlaid;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.writeNdjson(null, out);
+
+        Post exported = objectMapper.readValue(out.toString(StandardCharsets.UTF_8).trim(), Post.class);
+        assertThat(exported.getLikes()).isEqualTo(2);
+    }
+
+    @Test
+    void clientDisconnectClosesTheCursorAndRethrows() {
+        when(postRepository.streamByUpdatedAt(null)).thenReturn(posts(2000));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> service.writeNdjson(null, broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        assertThat(closed).isTrue();
+    }
+
+    private Stream<Post> posts(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            Post post = new Post();
+            post.setId("p" + i);
+            post.setTitle("Recipe " + i);
+            return post;
+        }).onClose(() -> closed.set(true));
+    }
+}
@@ -0,0 +1,109 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostFeedServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostCacheService postCacheService = mock(PostCacheService.class);
+    private final PostCounterBuffer postCounterBuffer = mock(PostCounterBuffer.class);
+    private final PostFeedService service = new PostFeedService();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(service, "postRepository", postRepository);
+        ReflectionTestUtils.setField(service, "postCacheService", postCacheService);
+        ReflectionTestUtils.setField(service, "postCounterBuffer", postCounterBuffer);
+        ReflectionTestUtils.setField(service, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(service, "maxPageSize", 50);
+        // Cache misses straight through to the loader; the buffer has nothing pending
+        when(postCacheService.getFeedPage(any(), anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<FeedPage<PostSummary>>) invocation.getArgument(2)).get());
+        when(postCounterBuffer.overlay(any(FeedPage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        FeedPage<PostSummary> page = PostFeedService.toPage(posts(3), 3);
+
+        assertThat(page.getItems()).hasSize(3);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void extraRowBecomesCursorOfLastReturnedItem() {
+        List<PostSummary> fetched = posts(4);
+
+        FeedPage<PostSummary> page = PostFeedService.toPage(fetched, 3);
+
+        assertThat(page.getItems()).extracting(PostSummary::getId).containsExactly("p0", "p1", "p2");
+        assertThat(page.isHasMore()).isTrue();
+        PageCursor cursor = PageCursor.decode(page.getNextCursor());
+        assertThat(cursor.getId()).isEqualTo("p2");
+        assertThat(cursor.getCreatedAt()).isEqualTo(fetched.get(2).getCreatedAt());
+    }
+
+    @Test
+    void pageSizeFallsBackToDefaultAndIsCapped() {
+        assertThat(service.resolvePageSize(null)).isEqualTo(20);
+        assertThat(service.resolvePageSize(0)).isEqualTo(20);
+        assertThat(service.resolvePageSize(-5)).isEqualTo(20);
+        assertThat(service.resolvePageSize(10)).isEqualTo(10);
+        assertThat(service.resolvePageSize(1000)).isEqualTo(50);
+    }
+
+    @Test
+    void feedAsksForOneRowMoreThanThePageAndPassesTheDecodedCursor() {
+        PageCursor after = new PageCursor(LocalDateTime.of(2024, 5, 1, 8, 0), "p9");
+        when(postRepository.findFeedSummaries(any(), anyInt())).thenReturn(posts(2));
+
+        FeedPage<PostSummary> page = service.getFeed(after.encode(), 5);
+
+        verify(postRepository).findFeedSummaries(
+                argThat(c -> c.getId().equals("p9")
+                        && c.getCreatedAt().equals(after.getCreatedAt())), eq(6));
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void invalidCursorIsRejectedBeforeQuerying() {
+        assertThatThrownBy(() -> service.getFeed("%%%", 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Newest first, one minute apart
+    private static List<PostSummary> posts(int count) {
+        LocalDateTime newest = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<PostSummary> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PostSummary summary = new PostSummary();
+            summary.setId("p" + i);
+            summary.setCreatedAt(newest.minusMinutes(i));
+            posts.add(summary);
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,96 @@
+package com.skillsync.cooking_edition.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecipeSearchIndexTest {
+
+    private static List<String> ids(RecipeSearchIndex.Result result) {
+        return result.getHits().stream().map(RecipeSearchIndex.Hit::getPostId).toList();
+    }
+
+    private RecipeSearchIndex sample() {
+        RecipeSearchIndex index = new RecipeSearchIndex();
+        index.put("a", Map.of("dumpl", 3, "pork", 1));
+        index.put("b", Map.of("dumpl", 1, "pork", 1, "cabbag", 1, "ginger", 1));
+        index.put("c", Map.of("pud", 2));
+        return index;
+    }
+
+    @Test
+    void ranksDocumentsWithMoreMatchesFirst() {
+        RecipeSearchIndex.Result result = sample().search(List.of("dumpl"), 0, 10);
+
+        assertThat(ids(result)).containsExactly("a", "b");
+        assertThat(result.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void pagesThroughHitsAndToleratesHugeOffsets() {
+        RecipeSearchIndex index = sample();
+
+        assertThat(ids(index.search(List.of("dumpl"), 1, 1))).containsExactly("b");
+        RecipeSearchIndex.Result beyond = index.search(List.of("dumpl"), Integer.MAX_VALUE, 10);
+        assertThat(beyond.getHits()).isEmpty();
+        assertThat(beyond.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void removeAndRetainAllDropPostings() {
+        RecipeSearchIndex index = sample();
+
+        index.remove("a");
+        assertThat(ids(index.search(List.of("dumpl"), 0, 10))).containsExactly("b");
+
+        assertThat(index.retainAll(Set.of("c"))).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search(List.of("dumpl"), 0, 10).getHits()).isEmpty();
+    }
+
+    @Test
+    void snapshotRoundTrips() throws Exception {
+        byte[] snapshot = sample().toSnapshot(1234L);
+
+        RecipeSearchIndex restored = new RecipeSearchIndex();
+        assertThat(restored.loadSnapshot(ByteBuffer.wrap(snapshot))).isEqualTo(1234L);
+        assertThat(restored.size()).isEqualTo(3);
+        assertThat(ids(restored.search(List.of("dumpl"), 0, 10))).containsExactly("a", "b");
+    }
+
+    @Test
+    void rejectsSnapshotsFromAnotherVersion() throws Exception {
+        byte[] snapshot = sample().toSnapshot(1L);
+        snapshot[7] = 1; // version int, big-endian
+
+        assertThatThrownBy(() -> new RecipeSearchIndex().loadSnapshot(ByteBuffer.wrap(snapshot)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void corruptLengthsAreRejectedWithoutTouchingTheIndex() throws Exception {
+        byte[] snapshot = sample().toSnapshot(1L);
+        RecipeSearchIndex index = new RecipeSearchIndex();
+        index.put("kept", Map.of("pud", 1));
+
+        // Document count, then the first post id's length
+        for (int value : new int[] {-1, Integer.MAX_VALUE}) {
+            for (int offset : new int[] {16, 20}) {
+                ByteBuffer corrupt = ByteBuffer.wrap(snapshot.clone());
+                corrupt.putInt(offset, value);
+                assertThatThrownBy(() -> index.loadSnapshot(corrupt)).isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+        ByteBuffer truncated = ByteBuffer.wrap(snapshot, 0, snapshot.length - 3);
+        assertThatThrownBy(() -> index.loadSnapshot(truncated)).isInstanceOf(RuntimeException.class);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(ids(index.search(List.of("pud"), 0, 10))).containsExactly("kept");
+    }
+}
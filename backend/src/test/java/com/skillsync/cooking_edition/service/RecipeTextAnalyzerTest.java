@@ -0,0 +1,36 @@
+package com.skillsync.cooking_edition.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeTextAnalyzerTest {
+
+    @Test
+    void pluralsStemLikeTheirSingulars() {
+        for (String word : new String[] {"dumpling", "pudding", "topping", "filling", "onion", "slice", "dish", "berry", "tomato"}) {
+            String plural = word.endsWith("y") ? word.substring(0, word.length() - 1) + "ies"
+                    : word.endsWith("sh") || word.endsWith("o") ? word + "es" : word + "s";
+            assertThat(RecipeTextAnalyzer.stem(plural)).as(plural).isEqualTo(RecipeTextAnalyzer.stem(word));
+        }
+    }
+
+    @Test
+    void verbFormsShareAStem() {
+        assertThat(RecipeTextAnalyzer.stem("chopping")).isEqualTo("chop");
+        assertThat(RecipeTextAnalyzer.stem("baking")).isEqualTo(RecipeTextAnalyzer.stem("bakes"));
+        assertThat(RecipeTextAnalyzer.stem("sliced")).isEqualTo(RecipeTextAnalyzer.stem("slices"));
+    }
+
+    @Test
+    void analyzeDropsStopWordsAndStemsTheRest() {
+        assertThat(RecipeTextAnalyzer.analyze("The Dumplings and the dumpling"))
+                .containsExactly(RecipeTextAnalyzer.stem("dumpling"), RecipeTextAnalyzer.stem("dumpling"));
+    }
+
+    @Test
+    void shortWordsAreLeftAlone() {
+        assertThat(RecipeTextAnalyzer.stem("gas")).isEqualTo("gas");
+        assertThat(RecipeTextAnalyzer.stem("hummus")).isEqualTo("hummus");
+    }
+}
@@ -0,0 +1,129 @@
+package com.skillsync.cooking_edition.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseBroadcasterTest {
+
+    private final List<CapturingEmitter> emitters = Collections.synchronizedList(new ArrayList<>());
+
+    private SseBroadcaster broadcaster = broadcaster(16, () -> {
+        CapturingEmitter emitter = new CapturingEmitter();
+        emitters.add(emitter);
+        return emitter;
+    });
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void eventsSentBeforeRegisteringComeFirst() throws Exception {
+        SseBroadcaster.Subscriber subscriber = broadcaster.open("room");
+        broadcaster.comment(subscriber, "connected");
+        broadcaster.send(subscriber, "1", "replayed", "old");
+        broadcaster.broadcast("room", "2", "live", "missed");
+        broadcaster.register(subscriber);
+        broadcaster.broadcast("room", "3", "live", "new");
+
+        CapturingEmitter emitter = emitters.get(0);
+        emitter.await(events -> events.size() == 3);
+        assertThat(emitter.events.get(0)).isEqualTo(":connected\n\n");
+        assertThat(emitter.events.get(1)).contains("id:1").contains("event:replayed").contains("old");
+        assertThat(emitter.events.get(2)).contains("id:3").contains("new");
+    }
+
+    @Test
+    void broadcastsOnlyReachTheirKey() throws Exception {
+        broadcaster.register(broadcaster.open("a"));
+        broadcaster.register(broadcaster.open("b"));
+
+        broadcaster.broadcast("a", "1", "message", "for a");
+
+        emitters.get(0).await(events -> events.size() == 1);
+        Thread.sleep(50);
+        assertThat(emitters.get(1).events).isEmpty();
+        assertThat(broadcaster.keyCount()).isEqualTo(2);
+        assertThat(broadcaster.connectionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void heartbeatReachesEveryConnection() throws Exception {
+        broadcaster.register(broadcaster.open("a"));
+        broadcaster.register(broadcaster.open("a"));
+        broadcaster.register(broadcaster.open("b"));
+
+        broadcaster.heartbeat();
+
+        for (CapturingEmitter emitter : emitters) {
+            emitter.await(events -> events.equals(List.of(":heartbeat\n\n")));
+        }
+    }
+
+    @Test
+    void clientThatFallsBehindIsDisconnected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        broadcaster.shutdown();
+        broadcaster = broadcaster(1, () -> new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        broadcaster.register(broadcaster.open("slow"));
+
+        for (int i = 0; i < 3; i++) {
+            broadcaster.broadcast("slow", String.valueOf(i), "message", "m" + i);
+        }
+
+        assertThat(broadcaster.hasSubscribers("slow")).isFalse();
+        release.countDown();
+    }
+
+    @Test
+    void failedSendUnregistersTheConnection() throws Exception {
+        broadcaster.shutdown();
+        broadcaster = broadcaster(16, () -> new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        });
+        broadcaster.register(broadcaster.open("gone"));
+
+        broadcaster.broadcast("gone", "1", "message", "lost");
+
+        for (int i = 0; i < 200 && broadcaster.hasSubscribers("gone"); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(broadcaster.hasSubscribers("gone")).isFalse();
+        assertThat(broadcaster.connectionCount()).isZero();
+    }
+
+    @Test
+    void parsesOnlyNumericEventIds() {
+        assertThat(SseBroadcaster.parseEventId(" 42 ")).isEqualTo(42L);
+        assertThat(SseBroadcaster.parseEventId(null)).isNull();
+        assertThat(SseBroadcaster.parseEventId("")).isNull();
+        assertThat(SseBroadcaster.parseEventId("abc")).isNull();
+    }
+
+    private static SseBroadcaster broadcaster(int bufferSize, Supplier<SseEmitter> emitters) {
+        return new SseBroadcaster("test-stream", bufferSize, 2, emitters);
+    }
+}
@@ -0,0 +1,171 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.PageCursor;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.model.TimelineEntry;
+import com.skillsync.cooking_edition.model.User;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import com.skillsync.cooking_edition.repository.TimelineEntryRepository;
+import com.skillsync.cooking_edition.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimelineServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final TimelineEntryRepository timelineEntryRepository = mock(TimelineEntryRepository.class);
+    private final PostCounterBuffer postCounterBuffer = mock(PostCounterBuffer.class);
+    private final TimelineService timeline = new TimelineService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timeline, "userRepository", userRepository);
+        ReflectionTestUtils.setField(timeline, "postRepository", postRepository);
+        ReflectionTestUtils.setField(timeline, "timelineEntryRepository", timelineEntryRepository);
+        ReflectionTestUtils.setField(timeline, "postCounterBuffer", postCounterBuffer);
+        ReflectionTestUtils.setField(timeline, "maxFanoutFollowers", 2L);
+        when(postCounterBuffer.overlay(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(postRepository.findSummariesByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> !id.startsWith("deleted")).map(id -> summary(id, null)).toList();
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void newPostIsPushedToTheAuthorAndEveryFollower() {
+        when(userRepository.countFollowers("author")).thenReturn(2L);
+        when(userRepository.findFollowerIds("author")).thenReturn(List.of(user("f1"), user("f2")));
+
+        timeline.onPostCreated(post("p1", "author"));
+
+        ArgumentCaptor<List<TimelineEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(timelineEntryRepository).saveAll(entries.capture());
+        assertThat(entries.getValue()).extracting(TimelineEntry::getUserId).containsExactly("author", "f1", "f2");
+        assertThat(entries.getValue()).allSatisfy(entry -> {
+            assertThat(entry.getPostId()).isEqualTo("p1");
+            assertThat(entry.getCreatedAt()).isEqualTo(T0);
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void highFanoutAuthorsOnlyWriteTheirOwnEntry() {
+        when(userRepository.countFollowers("star")).thenReturn(3L);
+
+        timeline.onPostCreated(post("p1", "star"));
+        timeline.onPostCreated(post("p2", "star"));
+
+        ArgumentCaptor<List<TimelineEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(timelineEntryRepository, times(2)).saveAll(entries.capture());
+        assertThat(entries.getAllValues()).allSatisfy(saved ->
+                assertThat(saved).extracting(TimelineEntry::getUserId).containsExactly("star"));
+        verify(userRepository, never()).findFollowerIds("star");
+        // Remembered after the first post, so the second does not count again
+        verify(userRepository, times(1)).countFollowers("star");
+    }
+
+    @Test
+    void readMergesPushedEntriesWithPulledHighFanoutPosts() {
+        when(userRepository.countFollowers("star")).thenReturn(3L);
+        timeline.onPostCreated(post("s0", "star"));
+        User reader = user("reader");
+        reader.setFollowing(List.of("friend", "star"));
+        when(userRepository.findById("reader")).thenReturn(Optional.of(reader));
+        when(timelineEntryRepository.findPage(eq("reader"), anyCollection(), any(), eq(4))).thenReturn(List.of(
+                entry("f1", T0.minusMinutes(1)),
+                entry("f2", T0.minusMinutes(3)),
+                entry("f3", T0.minusMinutes(5))));
+        when(postRepository.findFeedSummariesByUserIds(anyCollection(), any(), eq(4))).thenReturn(List.of(
+                summary("s1", T0.minusMinutes(2)),
+                summary("s2", T0.minusMinutes(4))));
+
+        FeedPage<PostSummary> page = timeline.getTimeline("reader", null, 3);
+
+        assertThat(page.getItems()).extracting(PostSummary::getId).containsExactly("f1", "s1", "f2");
+        assertThat(page.isHasMore()).isTrue();
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertThat(next.getId()).isEqualTo("f2");
+        assertThat(next.getCreatedAt()).isEqualTo(T0.minusMinutes(3));
+    }
+
+    @Test
+    void postsDeletedAfterFanOutAreSkipped() {
+        when(userRepository.findById("reader")).thenReturn(Optional.of(user("reader")));
+        when(timelineEntryRepository.findPage(eq("reader"), anyCollection(), any(), anyInt())).thenReturn(List.of(
+                entry("p1", T0), entry("deleted-p2", T0.minusMinutes(1)), entry("p3", T0.minusMinutes(2))));
+
+        FeedPage<PostSummary> page = timeline.getTimeline("reader", null, 5);
+
+        assertThat(page.getItems()).extracting(PostSummary::getId).containsExactly("p1", "p3");
+        assertThat(page.isHasMore()).isFalse();
+        verify(postRepository, never()).findFeedSummariesByUserIds(anyCollection(), any(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void entriesAreOnlyReadForAuthorsStillFollowed() {
+        User reader = user("reader");
+        reader.setFollowing(List.of("friend"));
+        when(userRepository.findById("reader")).thenReturn(Optional.of(reader));
+
+        timeline.getTimeline("reader", null, 5);
+
+        ArgumentCaptor<Collection<String>> authors = ArgumentCaptor.forClass(Collection.class);
+        verify(timelineEntryRepository).findPage(eq("reader"), authors.capture(), any(), eq(6));
+        // Someone unfollowed since fan-out is simply not in the set any more
+        assertThat(authors.getValue()).containsExactlyInAnyOrder("reader", "friend");
+    }
+
+    private static Post post(String id, String userId) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(userId);
+        post.setCreatedAt(T0);
+        return post;
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static TimelineEntry entry(String postId, LocalDateTime createdAt) {
+        TimelineEntry entry = new TimelineEntry();
+        entry.setPostId(postId);
+        entry.setCreatedAt(createdAt);
+        return entry;
+    }
+
+    private static PostSummary summary(String id, LocalDateTime createdAt) {
+        PostSummary summary = new PostSummary();
+        summary.setId(id);
+        summary.setCreatedAt(createdAt);
+        return summary;
+    }
+}
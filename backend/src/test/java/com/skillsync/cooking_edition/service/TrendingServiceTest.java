@@ -0,0 +1,153 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.FeedPage;
+import com.skillsync.cooking_edition.dto.InteractionEvent;
+import com.skillsync.cooking_edition.dto.PostSummary;
+import com.skillsync.cooking_edition.model.Post;
+import com.skillsync.cooking_edition.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrendingServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostCounterBuffer postCounterBuffer = mock(PostCounterBuffer.class);
+    private final TrendingService trending = new TrendingService();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(trending, "postRepository", postRepository);
+        ReflectionTestUtils.setField(trending, "postCounterBuffer", postCounterBuffer);
+        ReflectionTestUtils.setField(trending, "capacity", 2);
+        ReflectionTestUtils.setField(trending, "windowDays", 7);
+        ReflectionTestUtils.setField(trending, "decaySeconds", 45000.0);
+        when(postRepository.findSummariesByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream().map(TrendingServiceTest::summary).toList();
+        });
+        when(postCounterBuffer.overlay(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void ranksByEngagementAndKeepsOnlyCapacity() {
+        trending.onPostCreated(post("low", 1, now));
+        trending.onPostCreated(post("high", 100, now));
+        trending.onPostCreated(post("mid", 10, now));
+
+        assertThat(ids(trending.getTrending(null, 10))).containsExactly("high", "mid");
+    }
+
+    @Test
+    void deletingARankedPostPromotesTheNextBest() {
+        trending.onPostCreated(post("low", 1, now));
+        trending.onPostCreated(post("high", 100, now));
+        trending.onPostCreated(post("mid", 10, now));
+        trending.onPostCreated(post("lowest", 0, now));
+
+        trending.onPostDeleted("high");
+
+        assertThat(ids(trending.getTrending(null, 10))).containsExactly("mid", "low");
+    }
+
+    @Test
+    void scoreDropLetsAWaitingPostOvertake() {
+        trending.onPostCreated(post("a", 100, now));
+        trending.onPostCreated(post("b", 50, now));
+        trending.onPostCreated(post("c", 40, now));
+
+        trending.onCountersChanged("b", -45, 0);
+
+        assertThat(ids(trending.getTrending(null, 10))).containsExactly("a", "c");
+    }
+
+    @Test
+    void waitingPostThatGainsEngagementEntersTheRanking() {
+        trending.onPostCreated(post("a", 100, now));
+        trending.onPostCreated(post("b", 50, now));
+        trending.onPostCreated(post("c", 1, now));
+
+        trending.handle(List.of(
+                event(InteractionEvent.Type.COMMENTED, "c"),
+                event(InteractionEvent.Type.COMMENTED, "c")));
+        trending.onCountersChanged("c", 200, 0);
+
+        assertThat(ids(trending.getTrending(null, 10))).containsExactly("c", "a");
+    }
+
+    @Test
+    void pruneDropsAgedPostsAndRefillsFromTheWindow() {
+        trending.onPostCreated(post("old", 1000, now.minusDays(8)));
+        trending.onPostCreated(post("a", 10, now));
+        trending.onPostCreated(post("b", 5, now));
+
+        trending.prune();
+
+        assertThat(ids(trending.getTrending(null, 10))).containsExactly("a", "b");
+    }
+
+    @Test
+    void newerPostsOutrankOlderOnesWithTheSameEngagement() {
+        trending.onPostCreated(post("older", 10, now.minusDays(2)));
+        trending.onPostCreated(post("newer", 10, now));
+
+        assertThat(ids(trending.getTrending(null, 10))).containsExactly("newer", "older");
+    }
+
+    @Test
+    void pagesFollowTheCursor() {
+        ReflectionTestUtils.setField(trending, "capacity", 10);
+        for (int i = 0; i < 5; i++) {
+            trending.onPostCreated(post("p" + i, 100 - i * 10, now));
+        }
+
+        FeedPage<PostSummary> first = trending.getTrending(null, 2);
+        FeedPage<PostSummary> second = trending.getTrending(first.getNextCursor(), 2);
+        FeedPage<PostSummary> last = trending.getTrending(second.getNextCursor(), 2);
+
+        assertThat(ids(first)).containsExactly("p0", "p1");
+        assertThat(ids(second)).containsExactly("p2", "p3");
+        assertThat(ids(last)).containsExactly("p4");
+        assertThat(last.isHasMore()).isFalse();
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThatThrownBy(() -> trending.getTrending("???", 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> ids(FeedPage<PostSummary> page) {
+        return page.getItems().stream().map(PostSummary::getId).toList();
+    }
+
+    private static Post post(String id, int likes, LocalDateTime createdAt) {
+        Post post = new Post();
+        post.setId(id);
+        post.setLikes(likes);
+        post.setComments(0);
+        post.setCreatedAt(createdAt);
+        return post;
+    }
+
+    private static PostSummary summary(String id) {
+        PostSummary summary = new PostSummary();
+        summary.setId(id);
+        return summary;
+    }
+
+    private static InteractionEvent event(InteractionEvent.Type type, String postId) {
+        return new InteractionEvent(type, postId, "owner", "actor");
+    }
+}
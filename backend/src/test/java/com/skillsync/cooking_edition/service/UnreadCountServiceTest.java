@@ -0,0 +1,93 @@
+package com.skillsync.cooking_edition.service;
+
+import com.skillsync.cooking_edition.dto.UserCount;
+import com.skillsync.cooking_edition.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnreadCountServiceTest {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final UnreadCountService service = new UnreadCountService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "notificationRepository", notificationRepository);
+    }
+
+    @Test
+    void countIsLoadedOnceAndThenMovedInMemory() {
+        when(notificationRepository.countByUserIdAndIsReadFalse("u1")).thenReturn(3L);
+
+        assertThat(service.getUnreadCount("u1")).isEqualTo(3);
+        service.increment("u1", 2);
+        service.decrement("u1", 1);
+
+        assertThat(service.getUnreadCount("u1")).isEqualTo(4);
+        verify(notificationRepository, times(1)).countByUserIdAndIsReadFalse("u1");
+    }
+
+    @Test
+    void decrementNeverGoesBelowZero() {
+        when(notificationRepository.countByUserIdAndIsReadFalse("u1")).thenReturn(1L);
+        service.getUnreadCount("u1");
+
+        service.decrement("u1", 5);
+
+        assertThat(service.getUnreadCount("u1")).isZero();
+    }
+
+    @Test
+    void changesForUnloadedUsersAreSkipped() {
+        service.increment("u1", 1);
+        when(notificationRepository.countByUserIdAndIsReadFalse("u1")).thenReturn(7L);
+
+        assertThat(service.getUnreadCount("u1")).isEqualTo(7);
+    }
+
+    @Test
+    void invalidateForcesARecount() {
+        when(notificationRepository.countByUserIdAndIsReadFalse("u1")).thenReturn(2L, 0L);
+        service.getUnreadCount("u1");
+
+        service.invalidate("u1");
+
+        assertThat(service.getUnreadCount("u1")).isZero();
+    }
+
+    @Test
+    void reconcileRepairsDriftedCounters() {
+        when(notificationRepository.countByUserIdAndIsReadFalse("u1")).thenReturn(5L);
+        when(notificationRepository.countByUserIdAndIsReadFalse("u2")).thenReturn(1L);
+        service.getUnreadCount("u1");
+        service.getUnreadCount("u2");
+        UserCount u1 = new UserCount();
+        u1.setUserId("u1");
+        u1.setCount(2);
+        when(notificationRepository.countUnreadByUserIds(anyCollection())).thenReturn(List.of(u1));
+
+        service.reconcile();
+
+        assertThat(service.getUnreadCount("u1")).isEqualTo(2);
+        // Users missing from the aggregation have nothing unread
+        assertThat(service.getUnreadCount("u2")).isZero();
+    }
+
+    @Test
+    void reconcileWithNoLoadedUsersQueriesNothing() {
+        service.reconcile();
+
+        verify(notificationRepository, never()).countUnreadByUserIds(anyCollection());
+    }
+}
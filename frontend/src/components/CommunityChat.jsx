@@ -34,6 +34,10 @@ const CommunityChat = () => {
   const [editValue, setEditValue] = useState('');
   const [menuAnchorEl, setMenuAnchorEl] = useState(null);
   const [selectedMessage, setSelectedMessage] = useState(null);
+  // Scrollback cursor from the oldest loaded page; null once nothing older exists
+  const [beforeCursor, setBeforeCursor] = useState(null);
+  const [loadingOlder, setLoadingOlder] = useState(false);
+  const olderLoadedRef = useRef(false);
   const messagesEndRef = useRef(null);
 
   useEffect(() => {
@@ -42,17 +46,31 @@ const CommunityChat = () => {
     return () => clearInterval(interval);
   }, []);
 
+  // Follow new messages at the bottom, but stay put when earlier ones are prepended
+  const lastMessageId = messages.length ? messages[messages.length - 1].id : null;
   useEffect(() => {
     if (messagesEndRef.current) {
       messagesEndRef.current.scrollIntoView({ behavior: 'smooth' });
     }
-  }, [messages]);
+  }, [lastMessageId]);
 
+  // The newest page replaces everything from its first message on; older pages loaded
+  // through scrollback are kept in front of it
   const fetchMessages = async () => {
     try {
-      setLoading(true);
-      const res = await axios.get('/api/community-chat');
-      setMessages(res.data);
+      const res = await axios.get('/api/community-chat/messages');
+      const page = res.data;
+      const first = page.items[0];
+      setMessages(prev => {
+        if (!first) return olderLoadedRef.current ? prev : [];
+        const firstTime = new Date(first.createdAt).getTime();
+        const older = prev.filter(msg => new Date(msg.createdAt).getTime() < firstTime
+          && !page.items.some(item => item.id === msg.id));
+        return [...older, ...page.items];
+      });
+      if (!olderLoadedRef.current) {
+        setBeforeCursor(page.beforeCursor);
+      }
     } catch (err) {
       console.error('Error fetching messages:', err);
     } finally {
@@ -60,6 +78,21 @@ const CommunityChat = () => {
     }
   };
 
+  const fetchOlderMessages = async () => {
+    if (!beforeCursor) return;
+    setLoadingOlder(true);
+    try {
+      const res = await axios.get('/api/community-chat/messages', { params: { before: beforeCursor } });
+      olderLoadedRef.current = true;
+      setMessages(prev => [...res.data.items.filter(item => !prev.some(msg => msg.id === item.id)), ...prev]);
+      setBeforeCursor(res.data.beforeCursor);
+    } catch (err) {
+      console.error('Error fetching earlier messages:', err);
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   const handleSend = async (e) => {
     e.preventDefault();
     if (!message.trim()) return;
@@ -95,7 +128,8 @@ const CommunityChat = () => {
   const handleEditSave = async (id) => {
     if (!editValue.trim()) return;
     try {
-      await axios.put(`/api/community-chat/${id}`, { message: editValue });
+      const res = await axios.put(`/api/community-chat/${id}`, { message: editValue });
+      setMessages(prev => prev.map(msg => (msg.id === id ? res.data : msg)));
       setEditingId(null);
       setEditValue('');
       fetchMessages();
@@ -111,7 +145,9 @@ const CommunityChat = () => {
 
   const handleDelete = async () => {
     try {
-      await axios.delete(`/api/community-chat/${selectedMessage.id}`);
+      const deletedId = selectedMessage.id;
+      await axios.delete(`/api/community-chat/${deletedId}`);
+      setMessages(prev => prev.filter(msg => msg.id !== deletedId));
       handleMenuClose();
       fetchMessages();
     } catch (err) {
@@ -325,7 +361,16 @@ Please be kind and respectful to others in this chat. Let’s keep it friendly!
             No messages yet. Be the first to start the conversation!
           </Typography>
         ) : (
-          messages.map(renderMessage)
+          <>
+            {beforeCursor && (
+              <Box sx={{ display: 'flex', justifyContent: 'center', mb: 2 }}>
+                <Button size="small" onClick={fetchOlderMessages} disabled={loadingOlder}>
+                  {loadingOlder ? 'Loading...' : 'Load earlier messages'}
+                </Button>
+              </Box>
+            )}
+            {messages.map(renderMessage)}
+          </>
         )}
         <div ref={messagesEndRef} />
       </Box>
@@ -35,6 +35,7 @@ const MyProfile = () => {
   const { user, setUser } = useAuth();
   const navigate = useNavigate();
   const [posts, setPosts] = useState([]);
+  const [ingredientsByPost, setIngredientsByPost] = useState({});
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [editMode, setEditMode] = useState(false);
@@ -87,9 +88,11 @@ const MyProfile = () => {
   const fetchUserPosts = async () => {
     try {
       setLoading(true);
+      // /my returns post summaries; ingredients come from each post's detail
       const response = await axios.get('/api/posts/my', { withCredentials: true });
       setPosts(response.data);
       setError(null);
+      fetchPostIngredients(response.data);
     } catch (error) {
       console.error('Error fetching user posts:', error);
       setError('Failed to load your posts. Please try again later.');
@@ -98,6 +101,19 @@ const MyProfile = () => {
     }
   };
 
+  const fetchPostIngredients = async (summaries) => {
+    const entries = await Promise.all(summaries.map(async (summary) => {
+      try {
+        const response = await axios.get(`/api/posts/${summary.id}`, { withCredentials: true });
+        return [summary.id, response.data.ingredients || []];
+      } catch (error) {
+        console.error('Error fetching post details:', error);
+        return [summary.id, []];
+      }
+    }));
+    setIngredientsByPost(Object.fromEntries(entries));
+  };
+
   const fetchFollowers = async () => {
     try {
       const response = await axios.get('/api/users/followers');
@@ -297,11 +313,11 @@ const MyProfile = () => {
               {posts.map((post) => (
                 <Grid item xs={12} key={post.id}>
                   <Card>
-                    {post.mediaUrls && post.mediaUrls.length > 0 && (
+                    {post.thumbnailUrl && (
                       <CardMedia
                         component="img"
                         height="200"
-                        image={Array.isArray(post.mediaUrls) ? post.mediaUrls[0] : post.mediaUrls}
+                        image={post.thumbnailUrl}
                         alt={post.title}
                         sx={{ 
                           objectFit: 'cover',
@@ -310,7 +326,7 @@ const MyProfile = () => {
                           width: '100%'
                         }}
                         onError={(e) => {
-                          console.error('Error loading image:', post.mediaUrls[0]);
+                          console.error('Error loading image:', post.thumbnailUrl);
                           e.target.src = '/placeholder-image.jpg';
                         }}
                       />
@@ -323,7 +339,7 @@ const MyProfile = () => {
                         {post.description}
                       </Typography>
                       <Box sx={{ display: 'flex', flexWrap: 'wrap', gap: 1, mb: 2 }}>
-                        {post.ingredients && post.ingredients.map((ingredient, index) => (
+                        {ingredientsByPost[post.id] && ingredientsByPost[post.id].map((ingredient, index) => (
                           <Chip key={index} label={ingredient} size="small" />
                         ))}
                       </Box>